@@ -0,0 +1,30 @@
+package com.challenge.generator.benchmark;
+
+import com.challenge.generator.config.ExpressionLanguageConfig;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+/**
+ * Shares one expression-engine application context per benchmark fork. The context is wired the
+ * same way as in production: the language config plus every grammar rule and function provider
+ * found by component scanning.
+ */
+public final class EngineFixture {
+
+    private static final String ENGINE_PACKAGE = "com.challenge.generator.expression.engine";
+
+    private static AnnotationConfigApplicationContext context;
+
+    private EngineFixture() {
+    }
+
+    public static synchronized <T> T bean(Class<T> type) {
+        if (context == null) {
+            var created = new AnnotationConfigApplicationContext();
+            created.register(ExpressionLanguageConfig.class);
+            created.scan(ENGINE_PACKAGE);
+            created.refresh();
+            context = created;
+        }
+        return context.getBean(type);
+    }
+}
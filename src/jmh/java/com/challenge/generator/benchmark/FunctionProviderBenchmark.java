@@ -0,0 +1,71 @@
+package com.challenge.generator.benchmark;
+
+import com.challenge.generator.expression.engine.core.FunctionRegistry;
+import com.challenge.generator.expression.engine.function.FunctionName;
+import com.challenge.generator.expression.engine.model.EvaluationContext;
+import com.challenge.generator.expression.engine.model.result.EvalResult;
+import com.challenge.generator.expression.engine.model.result.ExecutableExpressionNode;
+import com.challenge.generator.expression.engine.model.result.MultiValue;
+import com.challenge.generator.expression.engine.model.result.StringValue;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures each {@link com.challenge.generator.expression.engine.function.FunctionProvider} in isolation,
+ * with constant arguments sized by {@code size}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FunctionProviderBenchmark {
+
+    @Param({"cross_join", "date", "equals", "split", "substring", "zip"})
+    public String function;
+
+    @Param({"10", "1000"})
+    public int size;
+
+    private ExecutableExpressionNode executable;
+    private final EvaluationContext context = EvaluationContext.from(Map.of());
+
+    @Setup
+    public void setUp() {
+        var provider = EngineFixture.bean(FunctionRegistry.class).get(function)
+                .orElseThrow(() -> new IllegalStateException("Function not registered: " + function));
+        executable = provider.create(argumentsFor(function, size));
+    }
+
+    @Benchmark
+    public EvalResult invoke() {
+        return executable.evaluate(context);
+    }
+
+    private static List<ExecutableExpressionNode> argumentsFor(String function, int size) {
+        var list = multi(Workloads.joined("v", size).split(","));
+        return switch (Arrays.stream(FunctionName.values()).filter(f -> f.getName().equals(function)).findFirst().orElseThrow()) {
+            case CROSS_JOIN -> List.of(list, multi("a", "b"));
+            case DATE -> List.of(single("yyyy-MM-dd"), single("2024-01-15"));
+            case EQUALS -> List.of(single("v".repeat(size)), single("v".repeat(size)));
+            case SPLIT -> List.of(single(Workloads.joined("v", size)), single(","));
+            case SUBSTRING_OF -> List.of(single("v".repeat(size)), single("1"), single(String.valueOf(size / 2)));
+            case ZIP -> List.of(list, single("."), list);
+        };
+    }
+
+    private static ExecutableExpressionNode single(String value) {
+        var result = new StringValue(value);
+        return in -> result;
+    }
+
+    private static ExecutableExpressionNode multi(String... values) {
+        var result = new MultiValue(List.of(values));
+        return in -> result;
+    }
+}
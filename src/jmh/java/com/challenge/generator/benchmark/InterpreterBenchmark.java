@@ -0,0 +1,48 @@
+package com.challenge.generator.benchmark;
+
+import com.challenge.generator.expression.engine.core.ExpressionEvaluator;
+import com.challenge.generator.expression.engine.core.ExpressionInterpreter;
+import com.challenge.generator.expression.engine.model.EvaluationContext;
+import com.challenge.generator.expression.engine.parser.ast.ExpressionNode;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link ExpressionInterpreter#evaluate} on pre-parsed ASTs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InterpreterBenchmark {
+
+    private record Prepared(ExpressionNode ast, EvaluationContext context) {
+    }
+
+    @Param({"corpus", "terms-100", "list-10", "list-1000", "list-100000", "random-4-3-10", "random-8-4-8"})
+    public String workload;
+
+    private ExpressionInterpreter interpreter;
+    private List<Prepared> prepared;
+
+    @Setup
+    public void setUp() {
+        var evaluator = EngineFixture.bean(ExpressionEvaluator.class);
+        interpreter = evaluator.interpreter();
+        prepared = Workloads.requests(workload).stream()
+                .map(request -> new Prepared(evaluator.parser().parse(request.expression()), EvaluationContext.from(request.input())))
+                .toList();
+    }
+
+    @Benchmark
+    public void evaluate(Blackhole blackhole) {
+        for (Prepared item : prepared) {
+            blackhole.consume(interpreter.evaluate(item.ast(), item.context()));
+        }
+    }
+}
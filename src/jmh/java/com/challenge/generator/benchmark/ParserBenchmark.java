@@ -0,0 +1,45 @@
+package com.challenge.generator.benchmark;
+
+import com.challenge.generator.expression.engine.parser.ExpressionParser;
+import com.challenge.generator.expression.engine.parser.Tokenizer;
+import com.challenge.generator.expression.engine.parser.grammar.Grammar;
+import com.challenge.generator.expression.engine.parser.token.Token;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link ExpressionParser#parse(List)} on pre-tokenized input, so tokenizer cost is excluded.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParserBenchmark {
+
+    @Param({"corpus", "terms-10", "terms-100", "terms-1000", "random-4-3-10", "random-8-4-8"})
+    public String workload;
+
+    private ExpressionParser parser;
+    private List<List<Token>> tokenized;
+
+    @Setup
+    public void setUp() {
+        var tokenizer = EngineFixture.bean(Tokenizer.class);
+        parser = new ExpressionParser(tokenizer, EngineFixture.bean(Grammar.class));
+        tokenized = Workloads.requests(workload).stream()
+                .map(request -> tokenizer.tokenize(request.expression()))
+                .toList();
+    }
+
+    @Benchmark
+    public void parse(Blackhole blackhole) {
+        for (List<Token> tokens : tokenized) {
+            blackhole.consume(parser.parse(tokens));
+        }
+    }
+}
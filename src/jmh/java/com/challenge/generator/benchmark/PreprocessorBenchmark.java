@@ -0,0 +1,36 @@
+package com.challenge.generator.benchmark;
+
+import com.challenge.generator.expression.api.dto.EmailGenerationRequest;
+import com.challenge.generator.expression.api.service.ExpressionPreprocessor;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PreprocessorBenchmark {
+
+    @Param({"corpus", "terms-10", "terms-100", "terms-1000"})
+    public String workload;
+
+    private final ExpressionPreprocessor preprocessor = new ExpressionPreprocessor();
+    private List<String> expressions;
+
+    @Setup
+    public void setUp() {
+        expressions = Workloads.requests(workload).stream().map(EmailGenerationRequest::expression).toList();
+    }
+
+    @Benchmark
+    public void preprocess(Blackhole blackhole) {
+        for (String expression : expressions) {
+            blackhole.consume(preprocessor.preprocess(expression));
+        }
+    }
+}
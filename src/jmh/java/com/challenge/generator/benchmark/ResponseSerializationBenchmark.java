@@ -0,0 +1,58 @@
+package com.challenge.generator.benchmark;
+
+import com.challenge.generator.expression.api.dto.EmailData;
+import com.challenge.generator.expression.api.dto.EmailGenerationRequest;
+import com.challenge.generator.expression.api.dto.EmailListResponse;
+import com.challenge.generator.expression.engine.core.ExpressionEvaluator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the controller's result path: evaluation, mapping to {@link EmailData} and JSON serialization.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseSerializationBenchmark {
+
+    @Param({"corpus", "list-10", "list-1000", "list-100000"})
+    public String workload;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private ExpressionEvaluator evaluator;
+    private List<EmailGenerationRequest> requests;
+    private List<EmailListResponse> responses;
+
+    @Setup
+    public void setUp() {
+        evaluator = EngineFixture.bean(ExpressionEvaluator.class);
+        requests = Workloads.requests(workload);
+        responses = requests.stream().map(this::toResponse).toList();
+    }
+
+    @Benchmark
+    public void serialize(Blackhole blackhole) throws JsonProcessingException {
+        for (EmailListResponse response : responses) {
+            blackhole.consume(objectMapper.writeValueAsBytes(response));
+        }
+    }
+
+    @Benchmark
+    public void evaluateAndSerialize(Blackhole blackhole) throws JsonProcessingException {
+        for (EmailGenerationRequest request : requests) {
+            blackhole.consume(objectMapper.writeValueAsBytes(toResponse(request)));
+        }
+    }
+
+    private EmailListResponse toResponse(EmailGenerationRequest request) {
+        return new EmailListResponse(evaluator.generateResults(request).stream().map(EmailData::from).toList());
+    }
+}
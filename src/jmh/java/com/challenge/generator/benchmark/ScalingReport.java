@@ -0,0 +1,96 @@
+package com.challenge.generator.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Turns the JMH JSON result of {@link ScalingSweepBenchmark} into one row per sweep point with
+ * latency, allocation and GC figures. Each row also carries the log-log slope against the previous
+ * point of the same benchmark: about 1 means linear growth, clearly above 1 means superlinear. The
+ * cross_join result count itself multiplies with every extra argument, so its slope is steep by
+ * design and is meant to be tracked across runs rather than compared with 1.
+ * <p>
+ * Usage: {@code ScalingReport <jmh-result.json> <report-dir>}. Writes {@code scaling-<timestamp>.csv}
+ * and {@code .json} so successive runs can be kept side by side.
+ */
+public final class ScalingReport {
+
+    private static final String SWEEP_CLASS = ScalingSweepBenchmark.class.getName() + ".";
+
+    public record Row(String benchmark, String parameter, long value, double score, double error, String unit,
+                      double allocatedBytesPerOp, double gcCount, double gcTimeMs, Double slope) {
+    }
+
+    private ScalingReport() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Usage: ScalingReport <jmh-result.json> <report-dir>");
+        }
+        var mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        var rows = rows(mapper.readTree(Path.of(args[0]).toFile()));
+
+        var dir = Files.createDirectories(Path.of(args[1]));
+        var name = "scaling-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        mapper.writeValue(dir.resolve(name + ".json").toFile(), rows);
+        try (var csv = new PrintWriter(Files.newBufferedWriter(dir.resolve(name + ".csv")))) {
+            csv.println("benchmark,parameter,value,score,error,unit,allocatedBytesPerOp,gcCount,gcTimeMs,slope");
+            for (Row row : rows) {
+                csv.println(String.format(Locale.ROOT, "%s,%s,%d,%.3f,%.3f,%s,%.0f,%.0f,%.0f,%s",
+                        row.benchmark(), row.parameter(), row.value(), row.score(), row.error(), row.unit(),
+                        row.allocatedBytesPerOp(), row.gcCount(), row.gcTimeMs(),
+                        row.slope() == null ? "" : String.format(Locale.ROOT, "%.2f", row.slope())));
+            }
+        }
+        System.out.println("Scaling report written to " + dir.resolve(name + ".csv").toAbsolutePath());
+    }
+
+    static List<Row> rows(JsonNode results) {
+        var points = new ArrayList<JsonNode>();
+        results.forEach(result -> {
+            if (result.path("benchmark").asText().startsWith(SWEEP_CLASS)) {
+                points.add(result);
+            }
+        });
+        points.sort(Comparator.<JsonNode, String>comparing(result -> result.path("benchmark").asText())
+                .thenComparingLong(result -> result.path("params").elements().next().asLong()));
+
+        var rows = new ArrayList<Row>();
+        Row previous = null;
+        for (JsonNode result : points) {
+            var benchmark = result.path("benchmark").asText().substring(SWEEP_CLASS.length());
+            var parameter = result.path("params").fieldNames().next();
+            long value = result.path("params").path(parameter).asLong();
+            var primary = result.path("primaryMetric");
+            var secondary = result.path("secondaryMetrics");
+            double score = primary.path("score").asDouble();
+
+            Double slope = null;
+            if (previous != null && previous.benchmark().equals(benchmark) && previous.value() > 0 && previous.score() > 0) {
+                slope = Math.log(score / previous.score()) / Math.log((double) value / previous.value());
+            }
+            var row = new Row(benchmark, parameter, value, score, primary.path("scoreError").asDouble(),
+                    primary.path("scoreUnit").asText(),
+                    secondary.path("gc.alloc.rate.norm").path("score").asDouble(),
+                    secondary.path("gc.count").path("score").asDouble(),
+                    secondary.path("gc.time").path("score").asDouble(),
+                    slope);
+            rows.add(row);
+            previous = row;
+        }
+        return rows;
+    }
+}
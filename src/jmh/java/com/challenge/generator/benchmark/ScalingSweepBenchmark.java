@@ -0,0 +1,122 @@
+package com.challenge.generator.benchmark;
+
+import com.challenge.generator.expression.api.dto.EmailGenerationRequest;
+import com.challenge.generator.expression.engine.core.ExpressionEvaluator;
+import com.challenge.generator.expression.engine.parser.ExpressionParser;
+import com.challenge.generator.expression.engine.parser.Tokenizer;
+import com.challenge.generator.expression.engine.parser.grammar.Grammar;
+import com.challenge.generator.expression.engine.parser.token.Token;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sweeps one input dimension per benchmark so that growth curves, not single points, end up in the
+ * results: split and zip over list size, cross_join over arity and the parser and interpreter over
+ * nesting depth. Run with {@code ./gradlew scalingSweep}, which also writes CSV/JSON reports through
+ * {@link ScalingReport}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ScalingSweepBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class SplitSweep {
+
+        @Param({"10", "100", "1000", "10000", "100000"})
+        public int size;
+
+        EmailGenerationRequest request;
+
+        @Setup
+        public void setUp() {
+            request = Workloads.split(size);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class ZipSweep {
+
+        @Param({"10", "100", "1000", "10000", "100000"})
+        public int size;
+
+        EmailGenerationRequest request;
+
+        @Setup
+        public void setUp() {
+            request = Workloads.list(size);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class CrossJoinSweep {
+
+        @Param({"2", "3", "4", "5", "6"})
+        public int arity;
+
+        EmailGenerationRequest request;
+
+        @Setup
+        public void setUp() {
+            request = Workloads.crossJoin(arity);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class DepthSweep {
+
+        @Param({"1", "4", "16", "64", "256"})
+        public int depth;
+
+        EmailGenerationRequest request;
+        List<Token> tokens;
+
+        @Setup
+        public void setUp() {
+            request = Workloads.depth(depth);
+            tokens = EngineFixture.bean(Tokenizer.class).tokenize(request.expression());
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Engine {
+
+        ExpressionEvaluator evaluator;
+        ExpressionParser parser;
+
+        @Setup
+        public void setUp() {
+            evaluator = EngineFixture.bean(ExpressionEvaluator.class);
+            parser = new ExpressionParser(EngineFixture.bean(Tokenizer.class), EngineFixture.bean(Grammar.class));
+        }
+    }
+
+    @Benchmark
+    public List<String> split(Engine engine, SplitSweep sweep) {
+        return engine.evaluator.generateResults(sweep.request);
+    }
+
+    @Benchmark
+    public List<String> zip(Engine engine, ZipSweep sweep) {
+        return engine.evaluator.generateResults(sweep.request);
+    }
+
+    @Benchmark
+    public List<String> crossJoin(Engine engine, CrossJoinSweep sweep) {
+        return engine.evaluator.generateResults(sweep.request);
+    }
+
+    @Benchmark
+    public Object parseDepth(Engine engine, DepthSweep sweep) {
+        return engine.parser.parse(sweep.tokens);
+    }
+
+    @Benchmark
+    public List<String> evaluateDepth(Engine engine, DepthSweep sweep) {
+        return engine.evaluator.generateResults(sweep.request);
+    }
+}
@@ -0,0 +1,159 @@
+package com.challenge.generator.benchmark;
+
+import com.challenge.generator.expression.api.dto.CurlGenerationRequest;
+import com.challenge.generator.expression.api.dto.EmailGenerationRequest;
+import com.challenge.generator.expression.engine.core.ExpressionEvaluator;
+import com.challenge.generator.expression.engine.core.FunctionRegistry;
+import com.challenge.generator.expression.engine.parser.grammar.Grammar;
+import com.challenge.generator.fuzz.GeneratorSettings;
+import com.challenge.generator.fuzz.RandomExpressionGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Benchmark inputs addressed by a workload name:
+ * <ul>
+ *     <li>{@code corpus} - every request example that evaluates successfully</li>
+ *     <li>{@code terms-N} - one expression concatenating N substring terms (scales expression length)</li>
+ *     <li>{@code list-N} - one zip/split expression over lists of N elements (scales data size)</li>
+ *     <li>{@code split-N} - one split over a list of N elements</li>
+ *     <li>{@code crossjoin-N} - a cross_join of N lists of {@value #CROSS_JOIN_LIST_SIZE} elements each</li>
+ *     <li>{@code depth-N} - a concatenation nested N parentheses deep</li>
+ *     <li>{@code random-D-F-L} - {@value #RANDOM_COUNT} grammar-driven random expressions with max depth D,
+ *     fan-out F and list size L, seeded by the {@code benchmark.seed} system property</li>
+ * </ul>
+ */
+public final class Workloads {
+
+    public static final String CORPUS = "corpus";
+    private static final String TERMS_PREFIX = "terms-";
+    private static final String LIST_PREFIX = "list-";
+    private static final String SPLIT_PREFIX = "split-";
+    private static final String CROSS_JOIN_PREFIX = "crossjoin-";
+    private static final String DEPTH_PREFIX = "depth-";
+    private static final String RANDOM_PREFIX = "random-";
+    public static final int CROSS_JOIN_LIST_SIZE = 4;
+    public static final int RANDOM_COUNT = 100;
+
+    private Workloads() {
+    }
+
+    public static List<EmailGenerationRequest> requests(String workload) {
+        if (CORPUS.equals(workload)) {
+            return corpus();
+        }
+        if (workload.startsWith(TERMS_PREFIX)) {
+            return List.of(terms(Integer.parseInt(workload.substring(TERMS_PREFIX.length()))));
+        }
+        if (workload.startsWith(LIST_PREFIX)) {
+            return List.of(list(Integer.parseInt(workload.substring(LIST_PREFIX.length()))));
+        }
+        if (workload.startsWith(SPLIT_PREFIX)) {
+            return List.of(split(Integer.parseInt(workload.substring(SPLIT_PREFIX.length()))));
+        }
+        if (workload.startsWith(CROSS_JOIN_PREFIX)) {
+            return List.of(crossJoin(Integer.parseInt(workload.substring(CROSS_JOIN_PREFIX.length()))));
+        }
+        if (workload.startsWith(RANDOM_PREFIX)) {
+            var limits = workload.substring(RANDOM_PREFIX.length()).split("-");
+            var settings = new GeneratorSettings(Integer.parseInt(limits[0]), Integer.parseInt(limits[1]), Integer.parseInt(limits[2]));
+            return random(settings, Long.getLong("benchmark.seed", 42L));
+        }
+        if (workload.startsWith(DEPTH_PREFIX)) {
+            return List.of(depth(Integer.parseInt(workload.substring(DEPTH_PREFIX.length()))));
+        }
+        throw new IllegalArgumentException("Unknown workload: " + workload);
+    }
+
+    public static List<EmailGenerationRequest> corpus() {
+        var corpusDir = Path.of(System.getProperty("benchmark.corpus", "request-examples"));
+        var evaluator = EngineFixture.bean(ExpressionEvaluator.class);
+        var mapper = new ObjectMapper();
+        var requests = new ArrayList<EmailGenerationRequest>();
+        try (var files = Files.list(corpusDir)) {
+            for (Path file : files.filter(f -> f.toString().endsWith(".json")).sorted().toList()) {
+                var example = mapper.readValue(file.toFile(), CurlGenerationRequest.class);
+                if (example.expression() == null || example.inputs() == null || example.inputs().isEmpty()) {
+                    continue;
+                }
+                var request = new EmailGenerationRequest(example.expression(), example.inputs());
+                if (evaluatesCleanly(evaluator, request)) {
+                    requests.add(request);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read benchmark corpus from " + corpusDir.toAbsolutePath(), e);
+        }
+        return requests;
+    }
+
+    public static EmailGenerationRequest terms(int count) {
+        var expression = new StringJoiner(" & '.' & ");
+        Map<String, Object> inputs = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            expression.add("substring(v" + i + ",1,3)");
+            inputs.put("v" + i, "value" + i);
+        }
+        return new EmailGenerationRequest(expression.toString(), inputs);
+    }
+
+    public static EmailGenerationRequest list(int elements) {
+        Map<String, Object> inputs = Map.of(
+                "names", joined("name", elements),
+                "domains", joined("domain", elements));
+        return new EmailGenerationRequest("zip(split(names,','),'@',split(domains,','),'.com')", inputs);
+    }
+
+    public static EmailGenerationRequest split(int elements) {
+        return new EmailGenerationRequest("split(names,',') & '@example.com'", Map.of("names", joined("name", elements)));
+    }
+
+    public static EmailGenerationRequest crossJoin(int arity) {
+        var arguments = new StringJoiner(",", "cross_join(", ")");
+        Map<String, Object> inputs = new HashMap<>();
+        for (int i = 0; i < arity; i++) {
+            arguments.add("split(l" + i + ",',')");
+            inputs.put("l" + i, joined("v" + i + "_", CROSS_JOIN_LIST_SIZE));
+        }
+        return new EmailGenerationRequest(arguments.toString(), inputs);
+    }
+
+    public static List<EmailGenerationRequest> random(GeneratorSettings settings, long seed) {
+        return new RandomExpressionGenerator(EngineFixture.bean(Grammar.class), EngineFixture.bean(FunctionRegistry.class), settings, seed)
+                .generate(RANDOM_COUNT);
+    }
+
+    public static EmailGenerationRequest depth(int levels) {
+        var expression = new StringBuilder("name");
+        for (int i = 0; i < levels; i++) {
+            expression.insert(0, '(').append(" & '.')");
+        }
+        return new EmailGenerationRequest(expression.toString(), Map.of("name", "john"));
+    }
+
+    public static String joined(String prefix, int elements) {
+        return IntStream.range(0, elements)
+                .mapToObj(i -> prefix + i)
+                .collect(Collectors.joining(","));
+    }
+
+    private static boolean evaluatesCleanly(ExpressionEvaluator evaluator, EmailGenerationRequest request) {
+        try {
+            evaluator.generateResults(request);
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.challenge.generator.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * Requests recorded by the traffic capture filter, ordered by arrival, with each request's offset
+ * from the first one so they can be replayed with their original spacing.
+ */
+public record CapturedTraffic(List<String> paths, List<Long> offsetsMillis) {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private record Entry(long timestamp, String path) {
+    }
+
+    /**
+     * Loads a single capture file, or every {@code .jsonl} file in a capture directory.
+     */
+    public static CapturedTraffic load(Path source) {
+        var entries = new ArrayList<Entry>();
+        try {
+            for (Path file : files(source)) {
+                try (var lines = Files.lines(file)) {
+                    for (String line : lines.filter(l -> !l.isBlank()).toList()) {
+                        var entry = entry(MAPPER.readTree(line));
+                        if (entry != null) {
+                            entries.add(entry);
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read captured traffic from " + source.toAbsolutePath(), e);
+        }
+        if (entries.isEmpty()) {
+            throw new IllegalStateException("No captured requests found in " + source.toAbsolutePath());
+        }
+        entries.sort(Comparator.comparingLong(Entry::timestamp));
+        long first = entries.getFirst().timestamp();
+        return new CapturedTraffic(
+                entries.stream().map(Entry::path).toList(),
+                entries.stream().map(entry -> entry.timestamp() - first).toList());
+    }
+
+    private static List<Path> files(Path source) throws IOException {
+        if (!Files.isDirectory(source)) {
+            return List.of(source);
+        }
+        try (var files = Files.list(source)) {
+            return files.filter(file -> file.toString().endsWith(".jsonl")).sorted().toList();
+        }
+    }
+
+    public URI uri(String baseUrl, int index) {
+        return URI.create(baseUrl + paths.get(index));
+    }
+
+    /**
+     * Requests per second offered when replaying at the given speed.
+     */
+    public int averageRate(double speed) {
+        long spanMillis = offsetsMillis.getLast();
+        return spanMillis == 0 ? paths.size() : (int) Math.round(paths.size() * 1000.0 * speed / spanMillis);
+    }
+
+    private static Entry entry(JsonNode request) {
+        var expression = request.path("expression");
+        if (!expression.isTextual() || expression.asText().isBlank()) {
+            return null;
+        }
+        var inputs = new LinkedHashMap<String, Object>();
+        request.path("inputs").fields().forEachRemaining(input -> inputs.put(input.getKey(), input.getValue().asText()));
+        return new Entry(request.path("timestamp").asLong(), LoadWorkload.path(expression.asText(), inputs));
+    }
+}
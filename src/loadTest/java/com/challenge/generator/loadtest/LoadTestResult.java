@@ -0,0 +1,42 @@
+package com.challenge.generator.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.time.Instant;
+
+/**
+ * JSON-serialized outcome of one load test run. Latencies are in microseconds.
+ */
+public record LoadTestResult(
+        Instant timestamp,
+        String workload,
+        int distinctRequests,
+        int targetRate,
+        double durationSeconds,
+        long sent,
+        long succeeded,
+        long failed,
+        double throughput,
+        Latency latency
+) {
+
+    public static LoadTestResult of(String workload, int distinctRequests, int targetRate, OpenLoopDriver.Phase phase) {
+        double seconds = phase.elapsed().toNanos() / 1e9;
+        return new LoadTestResult(Instant.now(), workload, distinctRequests, targetRate, seconds,
+                phase.sent(), phase.succeeded(), phase.failed(),
+                (phase.succeeded() + phase.failed()) / seconds, Latency.of(phase.latency()));
+    }
+
+    public record Latency(double mean, long p50, long p90, long p99, long p999, long max) {
+
+        static Latency of(Histogram nanos) {
+            return new Latency(
+                    nanos.getMean() / 1_000,
+                    nanos.getValueAtPercentile(50) / 1_000,
+                    nanos.getValueAtPercentile(90) / 1_000,
+                    nanos.getValueAtPercentile(99) / 1_000,
+                    nanos.getValueAtPercentile(99.9) / 1_000,
+                    nanos.getMaxValue() / 1_000);
+        }
+    }
+}
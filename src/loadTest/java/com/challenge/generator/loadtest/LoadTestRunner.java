@@ -0,0 +1,100 @@
+package com.challenge.generator.loadtest;
+
+import com.challenge.generator.GeneratorApplication;
+import com.challenge.generator.expression.engine.core.FunctionRegistry;
+import com.challenge.generator.expression.engine.parser.grammar.Grammar;
+import com.challenge.generator.fuzz.GeneratorSettings;
+import com.challenge.generator.fuzz.RandomExpressionGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Starts the application on a random port and drives {@code /generate} with an open-loop load.
+ * Configured through system properties (forwarded from {@code -PloadTest.*} by Gradle):
+ * <ul>
+ *     <li>{@code loadTest.workload} - {@code examples}, {@code jsonl}, {@code all} (default), {@code generated}
+ *     or {@code replay}</li>
+ *     <li>{@code loadTest.examples} / {@code loadTest.jsonl} - workload sources</li>
+ *     <li>{@code loadTest.generated.count}, {@code .depth}, {@code .fanOut}, {@code .listSize}, {@code .seed} -
+ *     shape of the {@code generated} workload; combine with a long duration for a soak run</li>
+ *     <li>{@code loadTest.replay.source} - capture file or directory for {@code replay};
+ *     {@code loadTest.replay.speed} scales the original timing (2.0 = twice as fast)</li>
+ *     <li>{@code loadTest.baseUrl} - drive an already running server instead of starting one</li>
+ *     <li>{@code loadTest.rate} - requests per second</li>
+ *     <li>{@code loadTest.warmup} / {@code loadTest.duration} - ISO-8601 durations</li>
+ *     <li>{@code loadTest.output} - where the JSON result is written</li>
+ * </ul>
+ */
+public final class LoadTestRunner {
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        var workloadName = System.getProperty("loadTest.workload", "all");
+        int rate = Integer.parseInt(System.getProperty("loadTest.rate", "200"));
+        var warmup = Duration.parse(System.getProperty("loadTest.warmup", "PT10S"));
+        var duration = Duration.parse(System.getProperty("loadTest.duration", "PT30S"));
+        var output = Path.of(System.getProperty("loadTest.output", "build/load-test/results.json"));
+        var baseUrl = System.getProperty("loadTest.baseUrl");
+
+        ConfigurableApplicationContext app = null;
+        if (baseUrl == null) {
+            app = new SpringApplicationBuilder(GeneratorApplication.class)
+                    .properties("server.port=0", "logging.level.com.challenge=WARN")
+                    .run(args);
+            baseUrl = "http://localhost:" + ((WebServerApplicationContext) app).getWebServer().getPort();
+        }
+        try (var client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build()) {
+            var driver = new OpenLoopDriver(client, baseUrl, Duration.ofSeconds(30));
+
+            LoadTestResult result;
+            if ("replay".equals(workloadName)) {
+                var traffic = CapturedTraffic.load(Path.of(System.getProperty("loadTest.replay.source", "data/capture")));
+                double speed = Double.parseDouble(System.getProperty("loadTest.replay.speed", "1.0"));
+                result = LoadTestResult.of(workloadName, traffic.paths().size(), traffic.averageRate(speed), driver.replay(traffic, speed));
+            } else {
+                var workload = "generated".equals(workloadName)
+                        ? LoadWorkload.generated(generator(app), Integer.getInteger("loadTest.generated.count", 1000))
+                        : LoadWorkload.load(workloadName,
+                        Path.of(System.getProperty("loadTest.examples", "request-examples")),
+                        Path.of(System.getProperty("loadTest.jsonl", "requests.jsonl")));
+                driver.run(workload, rate, warmup);
+                result = LoadTestResult.of(workload.name(), workload.paths().size(), rate, driver.run(workload, rate, duration));
+            }
+
+            var mapper = new ObjectMapper().registerModule(new JavaTimeModule())
+                    .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                    .enable(SerializationFeature.INDENT_OUTPUT);
+            Files.createDirectories(output.toAbsolutePath().getParent());
+            mapper.writeValue(output.toFile(), result);
+            System.out.println(mapper.writeValueAsString(result));
+        } finally {
+            if (app != null) {
+                app.close();
+            }
+        }
+    }
+
+    private static RandomExpressionGenerator generator(ConfigurableApplicationContext app) {
+        if (app == null) {
+            throw new IllegalStateException("The generated workload needs the embedded application; unset loadTest.baseUrl");
+        }
+        var defaults = GeneratorSettings.defaults();
+        var settings = new GeneratorSettings(
+                Integer.getInteger("loadTest.generated.depth", defaults.maxDepth()),
+                Integer.getInteger("loadTest.generated.fanOut", defaults.maxFanOut()),
+                Integer.getInteger("loadTest.generated.listSize", defaults.maxListSize()));
+        return new RandomExpressionGenerator(app.getBean(Grammar.class), app.getBean(FunctionRegistry.class),
+                settings, Long.getLong("loadTest.generated.seed", System.nanoTime()));
+    }
+}
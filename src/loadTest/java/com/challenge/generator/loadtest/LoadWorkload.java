@@ -0,0 +1,100 @@
+package com.challenge.generator.loadtest;
+
+import com.challenge.generator.fuzz.RandomExpressionGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Request paths replayed by the load test. Entries come from the {@code request-examples} corpus
+ * (one JSON file per request) and from a {@code requests.jsonl} file (one JSON request per line);
+ * both use the {@code expression}/{@code inputs} shape of the curl endpoint. Lines without an
+ * expression are skipped. The {@code generated} workload instead draws its requests from a
+ * {@link RandomExpressionGenerator}, for soak runs over shapes no one has written by hand.
+ */
+public record LoadWorkload(String name, List<String> paths) {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    public static LoadWorkload load(String name, Path examplesDir, Path jsonlFile) {
+        var paths = new ArrayList<String>();
+        if (!"jsonl".equals(name)) {
+            paths.addAll(fromExamples(examplesDir));
+        }
+        if (!"examples".equals(name)) {
+            paths.addAll(fromJsonl(jsonlFile));
+        }
+        if (paths.isEmpty()) {
+            throw new IllegalStateException("Workload '" + name + "' contains no requests");
+        }
+        return new LoadWorkload(name, List.copyOf(paths));
+    }
+
+    public static LoadWorkload generated(RandomExpressionGenerator generator, int count) {
+        var paths = generator.generate(count).stream()
+                .map(request -> path(request.expression(), request.input()))
+                .toList();
+        return new LoadWorkload("generated", paths);
+    }
+
+    public URI uri(String baseUrl, long sequence) {
+        return URI.create(baseUrl + paths.get((int) (sequence % paths.size())));
+    }
+
+    private static List<String> fromExamples(Path dir) {
+        if (!Files.isDirectory(dir)) {
+            return List.of();
+        }
+        try (var files = Files.list(dir)) {
+            var paths = new ArrayList<String>();
+            for (Path file : files.filter(f -> f.toString().endsWith(".json")).sorted().toList()) {
+                addPath(paths, MAPPER.readTree(file.toFile()));
+            }
+            return paths;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read request examples from " + dir.toAbsolutePath(), e);
+        }
+    }
+
+    private static List<String> fromJsonl(Path file) {
+        if (!Files.isRegularFile(file)) {
+            return List.of();
+        }
+        try (var lines = Files.lines(file)) {
+            var paths = new ArrayList<String>();
+            for (String line : lines.filter(l -> !l.isBlank()).toList()) {
+                addPath(paths, MAPPER.readTree(line));
+            }
+            return paths;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read requests from " + file.toAbsolutePath(), e);
+        }
+    }
+
+    private static void addPath(List<String> paths, JsonNode request) {
+        var expression = request.path("expression");
+        if (!expression.isTextual() || expression.asText().isBlank()) {
+            return;
+        }
+        var inputs = new LinkedHashMap<String, Object>();
+        request.path("inputs").fields().forEachRemaining(input -> inputs.put(input.getKey(),
+                input.getValue().isValueNode() ? input.getValue().asText() : input.getValue().toString()));
+        paths.add(path(expression.asText(), inputs));
+    }
+
+    static String path(String expression, Map<String, ?> inputs) {
+        var builder = UriComponentsBuilder.fromPath("/generate").queryParam("expression", expression);
+        inputs.forEach(builder::queryParam);
+        return builder.build().encode().toUriString();
+    }
+}
@@ -0,0 +1,98 @@
+package com.challenge.generator.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongFunction;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * Sends requests on a fixed schedule regardless of how quickly earlier ones complete. Latency is
+ * measured from the time a request was scheduled to be sent, not when it actually went out,
+ * so a stalled server shows up in the percentiles instead of silently lowering the offered load.
+ */
+public class OpenLoopDriver {
+
+    private static final long MAX_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(1);
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final Duration requestTimeout;
+
+    public OpenLoopDriver(HttpClient client, String baseUrl, Duration requestTimeout) {
+        this.client = client;
+        this.baseUrl = baseUrl;
+        this.requestTimeout = requestTimeout;
+    }
+
+    /**
+     * Cycles through the workload at a constant rate.
+     */
+    public Phase run(LoadWorkload workload, int ratePerSecond, Duration duration) {
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+        return drive(duration.toNanos() / intervalNanos, i -> i * intervalNanos, i -> workload.uri(baseUrl, i));
+    }
+
+    /**
+     * Plays captured traffic back with its original spacing divided by {@code speed}, so 2.0 replays
+     * twice as fast and 0.5 at half speed.
+     */
+    public Phase replay(CapturedTraffic traffic, double speed) {
+        return drive(traffic.paths().size(),
+                i -> (long) (TimeUnit.MILLISECONDS.toNanos(traffic.offsetsMillis().get((int) i)) / speed),
+                i -> traffic.uri(baseUrl, (int) i));
+    }
+
+    private Phase drive(long total, LongUnaryOperator offsetNanos, LongFunction<URI> uris) {
+        var recorder = new Recorder(MAX_TRACKABLE_NANOS, 3);
+        var succeeded = new LongAdder();
+        var failed = new LongAdder();
+        Set<CompletableFuture<?>> inFlight = ConcurrentHashMap.newKeySet();
+        long start = System.nanoTime();
+
+        for (long i = 0; i < total; i++) {
+            long intended = start + offsetNanos.applyAsLong(i);
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            var request = HttpRequest.newBuilder(uris.apply(i)).timeout(requestTimeout).GET().build();
+            var future = client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        recorder.recordValue(Math.min(System.nanoTime() - intended, MAX_TRACKABLE_NANOS));
+                        if (error == null && response.statusCode() / 100 == 2) {
+                            succeeded.increment();
+                        } else {
+                            failed.increment();
+                        }
+                    });
+            // Added before the removal is attached, so a future that is already done is removed right away.
+            inFlight.add(future);
+            future.whenComplete((response, error) -> inFlight.remove(future));
+        }
+
+        try {
+            CompletableFuture.allOf(inFlight.toArray(CompletableFuture[]::new))
+                    .get(DRAIN_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            // Unfinished requests are reported as sent but not completed.
+        }
+        long elapsed = System.nanoTime() - start;
+        return new Phase(total, succeeded.sum(), failed.sum(), Duration.ofNanos(elapsed), recorder.getIntervalHistogram());
+    }
+
+    public record Phase(long sent, long succeeded, long failed, Duration elapsed, Histogram latency) {
+    }
+}
@@ -0,0 +1,26 @@
+package com.challenge.generator.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for the sampled, asynchronous {@code /generate} access log.
+ *
+ * @param sampleRate    fraction of successful requests that are logged, between 0 and 1; errors and slow requests are always logged
+ * @param slowThreshold duration at or above which a request is always logged
+ * @param bufferSize    capacity of the in-memory ring buffer; records are dropped when it is full
+ */
+@ConfigurationProperties(prefix = "expression.access-log")
+public record AccessLogProperties(Double sampleRate, Duration slowThreshold, int bufferSize) {
+
+    public static final double DEFAULT_SAMPLE_RATE = 0.01;
+    public static final Duration DEFAULT_SLOW_THRESHOLD = Duration.ofMillis(500);
+    public static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    public AccessLogProperties {
+        sampleRate = sampleRate == null ? DEFAULT_SAMPLE_RATE : Math.max(0.0, Math.min(sampleRate, 1.0));
+        slowThreshold = slowThreshold == null ? DEFAULT_SLOW_THRESHOLD : slowThreshold;
+        bufferSize = bufferSize > 0 ? bufferSize : DEFAULT_BUFFER_SIZE;
+    }
+}
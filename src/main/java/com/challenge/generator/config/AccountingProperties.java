@@ -0,0 +1,22 @@
+package com.challenge.generator.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for per-request CPU time and allocated bytes accounting of {@code /generate}.
+ *
+ * @param clientHeader    request header that identifies the client; requests without it are tagged {@code unknown}
+ * @param maxClients      number of distinct client ids tagged individually; further ids are tagged {@code other}
+ * @param responseHeaders whether to also return the measurements as response headers, which buffers the body
+ */
+@ConfigurationProperties(prefix = "expression.accounting")
+public record AccountingProperties(String clientHeader, int maxClients, boolean responseHeaders) {
+
+    public static final String DEFAULT_CLIENT_HEADER = "X-Client-Id";
+    public static final int DEFAULT_MAX_CLIENTS = 100;
+
+    public AccountingProperties {
+        clientHeader = clientHeader == null || clientHeader.isBlank() ? DEFAULT_CLIENT_HEADER : clientHeader;
+        maxClients = maxClients > 0 ? maxClients : DEFAULT_MAX_CLIENTS;
+    }
+}
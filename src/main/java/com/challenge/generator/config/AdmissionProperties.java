@@ -0,0 +1,40 @@
+package com.challenge.generator.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for cost-based admission of {@code /generate} evaluations. Each request's cost is estimated
+ * from its plan and inputs, and the request runs in the cheap or the expensive lane, each with its own
+ * concurrency limit.
+ *
+ * @param enabled               whether requests are admitted by cost; off by default, so every request is admitted
+ * @param expensiveCost         estimated cost at or above which a request runs in the expensive lane
+ * @param maxCost               estimated cost above which a request is rejected without running it
+ * @param cheapConcurrency      cheap requests evaluated at once
+ * @param expensiveConcurrency  expensive requests evaluated at once, defaults to half the available processors
+ * @param maxWait               how long a cheap request waits for a free slot; expensive requests never wait
+ * @param assumedListSize       size of lists that cannot be derived from an input, e.g. {@code split('a,b', ',')},
+ *                              or whose delimiter is only known at evaluation time
+ */
+@ConfigurationProperties(prefix = "expression.admission")
+public record AdmissionProperties(boolean enabled, long expensiveCost, long maxCost, int cheapConcurrency,
+                                  int expensiveConcurrency, Duration maxWait, long assumedListSize) {
+
+    public static final long DEFAULT_EXPENSIVE_COST = 100_000;
+    public static final long DEFAULT_MAX_COST = 10_000_000;
+    public static final int DEFAULT_CHEAP_CONCURRENCY = 64;
+    public static final Duration DEFAULT_MAX_WAIT = Duration.ofMillis(100);
+    public static final long DEFAULT_ASSUMED_LIST_SIZE = 10;
+
+    public AdmissionProperties {
+        expensiveCost = expensiveCost > 0 ? expensiveCost : DEFAULT_EXPENSIVE_COST;
+        maxCost = maxCost > 0 ? maxCost : DEFAULT_MAX_COST;
+        cheapConcurrency = cheapConcurrency > 0 ? cheapConcurrency : DEFAULT_CHEAP_CONCURRENCY;
+        expensiveConcurrency = expensiveConcurrency > 0 ? expensiveConcurrency
+                : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        maxWait = maxWait == null ? DEFAULT_MAX_WAIT : maxWait;
+        assumedListSize = assumedListSize > 0 ? assumedListSize : DEFAULT_ASSUMED_LIST_SIZE;
+    }
+}
@@ -0,0 +1,30 @@
+package com.challenge.generator.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for sampling live {@code /generate} traffic into {@code requests.jsonl}-format files.
+ *
+ * @param sampleRate   fraction of requests to capture, between 0 and 1; 0 captures nothing
+ * @param directory    directory the capture files are written to
+ * @param maxFileBytes size after which the current file is closed and a new one started
+ * @param maxFiles     number of capture files kept; the oldest are deleted
+ * @param bufferSize   capacity of the in-memory ring buffer; requests are dropped when it is full
+ */
+@ConfigurationProperties(prefix = "expression.capture")
+public record CaptureProperties(Double sampleRate, String directory, long maxFileBytes, int maxFiles, int bufferSize) {
+
+    public static final double DEFAULT_SAMPLE_RATE = 0.01;
+    public static final String DEFAULT_DIRECTORY = "data/capture";
+    public static final long DEFAULT_MAX_FILE_BYTES = 64L * 1024 * 1024;
+    public static final int DEFAULT_MAX_FILES = 10;
+    public static final int DEFAULT_BUFFER_SIZE = 4096;
+
+    public CaptureProperties {
+        sampleRate = sampleRate == null ? DEFAULT_SAMPLE_RATE : Math.max(0.0, Math.min(sampleRate, 1.0));
+        directory = directory == null ? DEFAULT_DIRECTORY : directory;
+        maxFileBytes = maxFileBytes > 0 ? maxFileBytes : DEFAULT_MAX_FILE_BYTES;
+        maxFiles = maxFiles > 0 ? maxFiles : DEFAULT_MAX_FILES;
+        bufferSize = bufferSize > 0 ? bufferSize : DEFAULT_BUFFER_SIZE;
+    }
+}
@@ -0,0 +1,22 @@
+package com.challenge.generator.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for the bounded executor that {@code /generate} evaluations are handed to, so that large
+ * expressions queue up among themselves instead of holding request threads.
+ *
+ * @param enabled       whether evaluations run on the executor; otherwise they run on the request thread
+ * @param threads       number of evaluation threads, defaults to the number of available processors
+ * @param queueCapacity evaluations that may wait for a thread; further requests are rejected with 503
+ */
+@ConfigurationProperties(prefix = "expression.evaluation-executor")
+public record EvaluationExecutorProperties(boolean enabled, int threads, int queueCapacity) {
+
+    public static final int DEFAULT_QUEUE_CAPACITY = 100;
+
+    public EvaluationExecutorProperties {
+        threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        queueCapacity = queueCapacity > 0 ? queueCapacity : DEFAULT_QUEUE_CAPACITY;
+    }
+}
@@ -1,5 +1,6 @@
 package com.challenge.generator.config;
 
+import com.challenge.generator.expression.engine.core.EvaluationListener;
 import com.challenge.generator.expression.engine.core.ExpressionEvaluator;
 import com.challenge.generator.expression.engine.core.FunctionRegistry;
 import com.challenge.generator.expression.engine.parser.grammar.Grammar;
@@ -7,6 +8,8 @@ import com.challenge.generator.expression.engine.parser.grammar.GrammarRuleProvi
 import com.challenge.generator.expression.engine.parser.token.TokenType;
 import com.challenge.generator.expression.engine.parser.Tokenizer;
 import com.challenge.generator.expression.engine.function.FunctionProvider;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -65,7 +68,10 @@ public class ExpressionLanguageConfig {
     }
 
     @Bean
-    public ExpressionEvaluator expressionEvaluator(Grammar grammar, FunctionRegistry registry, Tokenizer tokenizer) {
-        return new ExpressionEvaluator(grammar, registry, tokenizer);
+    public ExpressionEvaluator expressionEvaluator(Grammar grammar, FunctionRegistry registry, Tokenizer tokenizer,
+                                                   @Value("${expression.plan-cache.max-size:1000}") int planCacheMaxSize,
+                                                   ObjectProvider<EvaluationListener> listeners) {
+        return new ExpressionEvaluator(grammar, registry, tokenizer, planCacheMaxSize,
+                EvaluationListener.of(listeners.orderedStream().toList()));
     }
 }
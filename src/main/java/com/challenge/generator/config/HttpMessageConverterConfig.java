@@ -0,0 +1,23 @@
+package com.challenge.generator.config;
+
+import com.challenge.generator.expression.api.metrics.InstrumentedJsonHttpMessageConverter;
+import com.challenge.generator.expression.api.metrics.ResourceAccounting;
+import com.challenge.generator.expression.engine.core.ExpressionEvaluator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+/**
+ * Replaces Spring Boot's default JSON converter with one that measures response serialization.
+ */
+@Configuration
+public class HttpMessageConverterConfig {
+
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper,
+                                                                                   ExpressionEvaluator expressionEvaluator,
+                                                                                   ResourceAccounting resourceAccounting) {
+        return new InstrumentedJsonHttpMessageConverter(objectMapper, expressionEvaluator.listener(), resourceAccounting);
+    }
+}
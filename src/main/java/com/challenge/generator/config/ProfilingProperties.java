@@ -0,0 +1,34 @@
+package com.challenge.generator.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Settings for on-demand JFR execution sampling through the {@code profiling} actuator endpoint.
+ *
+ * @param defaultDuration    how long a session samples when the request does not say
+ * @param maxDuration        upper bound for a requested duration
+ * @param samplingInterval   JFR execution sample period
+ * @param maxSessions        number of sessions that may run at the same time; further requests are rejected
+ * @param packages           package prefixes whose frames are kept; stacks without such a frame are dropped
+ */
+@ConfigurationProperties(prefix = "expression.profiling")
+public record ProfilingProperties(Duration defaultDuration, Duration maxDuration, Duration samplingInterval,
+                                  int maxSessions, List<String> packages) {
+
+    public static final Duration DEFAULT_DURATION = Duration.ofSeconds(10);
+    public static final Duration DEFAULT_MAX_DURATION = Duration.ofSeconds(60);
+    public static final Duration DEFAULT_SAMPLING_INTERVAL = Duration.ofMillis(10);
+    public static final int DEFAULT_MAX_SESSIONS = 1;
+    public static final List<String> DEFAULT_PACKAGES = List.of("com.challenge.generator.expression");
+
+    public ProfilingProperties {
+        defaultDuration = defaultDuration == null ? DEFAULT_DURATION : defaultDuration;
+        maxDuration = maxDuration == null ? DEFAULT_MAX_DURATION : maxDuration;
+        samplingInterval = samplingInterval == null ? DEFAULT_SAMPLING_INTERVAL : samplingInterval;
+        maxSessions = maxSessions > 0 ? maxSessions : DEFAULT_MAX_SESSIONS;
+        packages = packages == null || packages.isEmpty() ? DEFAULT_PACKAGES : List.copyOf(packages);
+    }
+}
@@ -0,0 +1,30 @@
+package com.challenge.generator.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Settings for the startup warm-up that runs representative expressions before the
+ * application reports ready.
+ *
+ * @param iterations    how many times the whole workload is replayed
+ * @param corpusPath    directory with request example files ({@code expression} and {@code inputs})
+ * @param hotExpressions additional expressions to replay, with their inputs
+ */
+@ConfigurationProperties(prefix = "expression.warmup")
+public record WarmupProperties(int iterations, String corpusPath, List<HotExpression> hotExpressions) {
+
+    public static final int DEFAULT_ITERATIONS = 200;
+    public static final String DEFAULT_CORPUS_PATH = "request-examples";
+
+    public WarmupProperties {
+        iterations = iterations > 0 ? iterations : DEFAULT_ITERATIONS;
+        corpusPath = corpusPath == null ? DEFAULT_CORPUS_PATH : corpusPath;
+        hotExpressions = hotExpressions == null ? List.of() : hotExpressions;
+    }
+
+    public record HotExpression(String expression, Map<String, Object> inputs) {
+    }
+}
@@ -2,29 +2,50 @@ package com.challenge.generator.expression.api.controller;
 
 import com.challenge.generator.expression.api.exception.ValidationMessages;
 import com.challenge.generator.expression.api.dto.EmailData;
-import com.challenge.generator.expression.api.dto.EmailGenerationRequest;
 import com.challenge.generator.expression.api.dto.EmailListResponse;
 import com.challenge.generator.expression.api.dto.CurlGenerationRequest;
 import com.challenge.generator.expression.api.dto.CurlGenerationResponse;
+import com.challenge.generator.expression.api.dto.ExplainRequest;
+import com.challenge.generator.expression.api.dto.ExpressionRegistrationRequest;
+import com.challenge.generator.expression.api.dto.ExpressionRegistrationResponse;
 import com.challenge.generator.expression.api.exception.ValidationException;
+import com.challenge.generator.expression.api.filter.CancellationFilter;
+import com.challenge.generator.expression.api.metrics.ResourceAccounting;
+import com.challenge.generator.expression.api.service.EvaluationAdmission;
+import com.challenge.generator.expression.api.service.EvaluationExecutor;
+import com.challenge.generator.expression.api.service.ExpressionExplainService;
+import com.challenge.generator.expression.api.service.RegisteredExpressionService;
+import com.challenge.generator.expression.engine.core.EvaluationPhase;
 import com.challenge.generator.expression.engine.core.ExpressionEvaluator;
+import com.challenge.generator.expression.engine.model.CancellationToken;
+import com.challenge.generator.expression.engine.model.profile.EvaluationProfile;
+import com.challenge.generator.expression.engine.model.trace.EvaluationTrace;
+import com.challenge.generator.expression.engine.plan.BoundPlan;
+import com.challenge.generator.expression.engine.plan.ExpressionExplanation;
 import com.challenge.generator.expression.api.util.EmailValidator;
 import jakarta.validation.Valid;
-import jakarta.validation.constraints.NotBlank;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.util.StringUtils;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
 
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
 
 @RestController
 @RequiredArgsConstructor
@@ -32,31 +53,182 @@ import java.util.Map;
 @Validated
 public class ExpressionController {
 
+    public static final String TRACE_HEADER = "X-Expression-Trace";
+    private static final String PROFILE_PARAM = "profile";
+    private static final int STREAM_CHUNK_SIZE = 256;
+
     private final ExpressionEvaluator expressionEvaluator;
+    private final RegisteredExpressionService registeredExpressionService;
+    private final ExpressionExplainService expressionExplainService;
+    private final ResourceAccounting resourceAccounting;
+    private final EvaluationExecutor evaluationExecutor;
+    private final EvaluationAdmission evaluationAdmission;
 
     @GetMapping("generate")
     public EmailListResponse generateEmails(
-            @RequestParam @NotBlank(message = ValidationMessages.EXPRESSION_REQUIRED) String expression,
+            @RequestParam(required = false) String expression,
+            @RequestParam(required = false) String expressionId,
+            @RequestParam Map<String, String> inputs,
+            @RequestHeader(name = TRACE_HEADER, defaultValue = "false") boolean trace) {
+
+        var dynamicInputs = dynamicInputs(expression, expressionId, inputs);
+        boolean profile = Boolean.parseBoolean(inputs.get(PROFILE_PARAM));
+        if (profile) {
+            dynamicInputs.remove(PROFILE_PARAM);
+        }
+        if (dynamicInputs.isEmpty()) {
+            throw new ValidationException(ValidationMessages.DYNAMIC_INPUT_REQUIRED);
+        }
+        var cancellation = CancellationFilter.currentToken();
+        var plan = plan(expression, expressionId);
+        EmailListResponse response;
+        try (var permit = evaluationAdmission.admit(plan, dynamicInputs)) {
+            response = evaluationExecutor.execute(() -> {
+                try (var ignored = resourceAccounting.measure(EvaluationPhase.EVALUATE)) {
+                    if (profile) {
+                        return profileEmails(plan, dynamicInputs, cancellation);
+                    }
+                    if (trace) {
+                        return traceEmails(plan, dynamicInputs, cancellation);
+                    }
+                    return new EmailListResponse(expressionEvaluator.execute(plan, dynamicInputs, cancellation).stream()
+                            .map(EmailData::from)
+                            .toList());
+                }
+            });
+        }
+        log.debug("Returning {} generated email address(es)", response.data().size());
+
+        return response;
+    }
+
+    /**
+     * Streams the results as plain text, one per line. List functions build their rows only as they are
+     * read, so rows are produced {@value #STREAM_CHUNK_SIZE} at a time on the evaluation pool, each chunk
+     * once the previous one was written; a slow client throttles generation instead of the server
+     * buffering the whole result. The streamed size is reported to the evaluation listener when the
+     * stream ends, the same way a written JSON response is.
+     */
+    @GetMapping(value = "generate/stream", produces = MediaType.TEXT_PLAIN_VALUE)
+    public Flux<String> streamEmails(
+            @RequestParam(required = false) String expression,
+            @RequestParam(required = false) String expressionId,
             @RequestParam Map<String, String> inputs) {
 
-        var dynamicInputs = new HashMap<String, Object>(inputs);
-        dynamicInputs.remove("expression");
+        var dynamicInputs = dynamicInputs(expression, expressionId, inputs);
         if (dynamicInputs.isEmpty()) {
             throw new ValidationException(ValidationMessages.DYNAMIC_INPUT_REQUIRED);
         }
+        var cancellation = CancellationFilter.currentToken();
+        var plan = plan(expression, expressionId);
+        // Rows are produced while the response is written, so the lane slot is held until the stream ends.
+        var permit = evaluationAdmission.admit(plan, dynamicInputs);
+        try {
+            // Bound from the evaluating thread, so producing and completing the stream carry the evaluation's
+            // fingerprint and statistics entry, and none of it is handed back to the request thread.
+            var stream = evaluationExecutor.bind(() -> openStream(plan, dynamicInputs, cancellation)).get();
+            return Flux.<List<String>>generate(sink -> {
+                        var chunk = stream.nextChunk().get();
+                        if (chunk.isEmpty()) {
+                            sink.complete();
+                        } else {
+                            sink.next(chunk);
+                        }
+                    })
+                    .flatMapIterable(chunk -> chunk, 1)
+                    .doOnCancel(() -> cancellation.cancel(CancellationToken.Reason.DISCONNECT))
+                    .doFinally(signal -> {
+                        permit.close();
+                        stream.complete().run();
+                    });
+        } catch (RuntimeException e) {
+            permit.close();
+            throw e;
+        }
+    }
+
+    private RowStream openStream(BoundPlan plan, Map<String, Object> dynamicInputs, CancellationToken cancellation) {
+        Iterator<String> rows;
+        try (var ignored = resourceAccounting.measure(EvaluationPhase.EVALUATE)) {
+            rows = expressionEvaluator.stream(plan, dynamicInputs, cancellation).iterator();
+        }
+        var bytes = new LongAdder();
+        Supplier<List<String>> nextChunk = evaluationExecutor.bind(() -> {
+            try (var ignored = resourceAccounting.measure(EvaluationPhase.EVALUATE)) {
+                var chunk = new ArrayList<String>(STREAM_CHUNK_SIZE);
+                while (chunk.size() < STREAM_CHUNK_SIZE && rows.hasNext()) {
+                    var row = rows.next() + "\n";
+                    bytes.add(row.getBytes(StandardCharsets.UTF_8).length);
+                    chunk.add(row);
+                }
+                return chunk;
+            }
+        });
+        var complete = evaluationExecutor.bindInline(() -> {
+            expressionEvaluator.listener().onResponseSize(bytes.sum());
+            expressionEvaluator.listener().onResponseComplete();
+        });
+        return new RowStream(nextChunk, complete);
+    }
+
+    private static Map<String, Object> dynamicInputs(String expression, String expressionId, Map<String, String> inputs) {
+        if (!StringUtils.hasText(expression) && !StringUtils.hasText(expressionId)) {
+            throw new ValidationException(ValidationMessages.EXPRESSION_REQUIRED);
+        }
+        if (StringUtils.hasText(expression) && StringUtils.hasText(expressionId)) {
+            throw new ValidationException(ValidationMessages.EXPRESSION_AND_ID_EXCLUSIVE);
+        }
+        var dynamicInputs = new HashMap<String, Object>(inputs);
+        dynamicInputs.remove("expression");
+        dynamicInputs.remove("expressionId");
+        return dynamicInputs;
+    }
 
-        var request = new EmailGenerationRequest(expression, dynamicInputs);
+    /**
+     * Resolves the plan up front, so that admission can estimate its cost before anything is evaluated.
+     */
+    private BoundPlan plan(String expression, String expressionId) {
+        if (StringUtils.hasText(expressionId)) {
+            log.debug("Generating emails with registered expression '{}'", expressionId);
+            return registeredExpressionService.plan(expressionId);
+        }
+        log.debug("Generating emails with expression '{}'", expression);
+        return expressionEvaluator.compile(expression);
+    }
 
-        log.info("Generating emails with expression:\n'{}' \nand inputs: \n{}", request.expression(), request.input());
-        var results = expressionEvaluator.generateResults(request);
+    /**
+     * Evaluates with the profiling interpreter and returns the annotated plan next to the results.
+     * An input that is literally named {@code profile} keeps working as long as it is not "true".
+     */
+    private EmailListResponse profileEmails(BoundPlan plan, Map<String, Object> inputs, CancellationToken cancellation) {
+        log.info("Profiling expression:\n'{}' \nwith inputs: \n{}", plan.plan().shape(), inputs);
+        EvaluationProfile profile = expressionEvaluator.profile(plan, inputs, cancellation);
+        var emailData = profile.results().stream()
+                .map(EmailData::from)
+                .toList();
+        return new EmailListResponse(emailData, profile.root(), null);
+    }
 
-        var emailData = results.stream()
+    /**
+     * Evaluates with the tracing interpreter and returns every node evaluation next to the results.
+     */
+    private EmailListResponse traceEmails(BoundPlan plan, Map<String, Object> inputs, CancellationToken cancellation) {
+        log.info("Tracing expression:\n'{}' \nwith inputs: \n{}", plan.plan().shape(), inputs);
+        EvaluationTrace trace = expressionEvaluator.trace(plan, inputs, cancellation);
+        var emailData = trace.results().stream()
                 .map(EmailData::from)
                 .toList();
-        var response = new EmailListResponse(emailData);
-        log.info("Returning {} generated email address(es)", emailData.size());
+        return new EmailListResponse(emailData, null, trace.trace());
+    }
 
-        return response;
+    @PostMapping("expressions")
+    public ExpressionRegistrationResponse registerExpression(@Valid @RequestBody ExpressionRegistrationRequest request) {
+        return registeredExpressionService.register(request.expression());
+    }
+
+    @PostMapping("explain")
+    public ExpressionExplanation explain(@Valid @RequestBody ExplainRequest request) {
+        return expressionExplainService.explain(request);
     }
 
     //TODO: only for testing purposes. The challenge outlined the need to use query params.
@@ -70,8 +242,16 @@ public class ExpressionController {
         }
         
 
-        var emailGenerationRequest = new EmailGenerationRequest(request.expression(), request.inputs());
-        List<String> results = expressionEvaluator.generateResults(emailGenerationRequest);
+        var cancellation = CancellationFilter.currentToken();
+        var plan = expressionEvaluator.compile(request.expression());
+        List<String> results;
+        try (var permit = evaluationAdmission.admit(plan, request.inputs())) {
+            results = evaluationExecutor.execute(() -> {
+                try (var ignored = resourceAccounting.measure(EvaluationPhase.EVALUATE)) {
+                    return expressionEvaluator.execute(plan, request.inputs(), cancellation);
+                }
+            });
+        }
         
 
         boolean containsInvalidEmails = EmailValidator.containsInvalidEmails(results);
@@ -112,4 +292,7 @@ public class ExpressionController {
     private String urlEncode(String value) {
         return URLEncoder.encode(value, StandardCharsets.UTF_8);
     }
+
+    private record RowStream(Supplier<List<String>> nextChunk, Runnable complete) {
+    }
 }
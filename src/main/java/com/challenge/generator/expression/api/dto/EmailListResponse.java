@@ -1,6 +1,20 @@
 package com.challenge.generator.expression.api.dto;
 
+import com.challenge.generator.expression.engine.model.profile.ProfileNode;
+import com.challenge.generator.expression.engine.model.trace.ExecutionTrace;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import java.util.List;
 
-public record EmailListResponse(List<EmailData> data) {
+/**
+ * Generated emails. {@code profile} is only present when the request asked for {@code profile=true},
+ * {@code trace} only when it was sent with {@code X-Expression-Trace: true}.
+ */
+public record EmailListResponse(List<EmailData> data,
+                                @JsonInclude(JsonInclude.Include.NON_NULL) ProfileNode profile,
+                                @JsonInclude(JsonInclude.Include.NON_NULL) ExecutionTrace trace) {
+
+    public EmailListResponse(List<EmailData> data) {
+        this(data, null, null);
+    }
 }
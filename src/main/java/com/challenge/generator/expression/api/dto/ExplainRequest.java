@@ -0,0 +1,16 @@
+package com.challenge.generator.expression.api.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
+
+/**
+ * @param assumedListSize size assumed for lists that depend on the input, e.g. the result of
+ *                        {@code split}; the configured default is used when omitted
+ */
+public record ExplainRequest(
+        @NotBlank(message = "Expression is required")
+        String expression,
+        @Positive(message = "Assumed list size must be positive")
+        Long assumedListSize
+) {
+}
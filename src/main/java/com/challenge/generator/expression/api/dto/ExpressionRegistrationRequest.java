@@ -0,0 +1,9 @@
+package com.challenge.generator.expression.api.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+public record ExpressionRegistrationRequest(
+        @NotBlank(message = "Expression is required")
+        String expression
+) {
+}
@@ -0,0 +1,4 @@
+package com.challenge.generator.expression.api.dto;
+
+public record ExpressionRegistrationResponse(String id, String expression) {
+}
@@ -1,6 +1,7 @@
 package com.challenge.generator.expression.api.exception;
 
 import com.challenge.generator.expression.engine.core.FunctionRegistry;
+import com.challenge.generator.expression.engine.exception.EvaluationCancelledException;
 import com.challenge.generator.expression.engine.exception.EvaluationException;
 import com.challenge.generator.expression.engine.exception.ExpressionParseException;
 import com.challenge.generator.expression.engine.exception.InvalidArgumentCountException;
@@ -78,6 +79,13 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(body);
     }
 
+    @ExceptionHandler(EvaluationCancelledException.class)
+    public ResponseEntity<Map<String, Object>> handleEvaluationCancelled(EvaluationCancelledException ex, HttpServletRequest request) {
+        var body = createErrorBody(ex.getMessage(), request, -1);
+        log.info("Evaluation cancelled: reason={} | expression='{}'", ex.getReason().label(), request.getParameter("expression"));
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(body);
+    }
+
     @ExceptionHandler(EvaluationException.class)
     public ResponseEntity<Map<String, Object>> handleGenericEvaluationException(EvaluationException ex, HttpServletRequest request) {
         var body = createErrorBody(ex.getMessage(), request, -1);
@@ -0,0 +1,9 @@
+package com.challenge.generator.expression.api.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class NotFoundException extends ApiException {
+    public NotFoundException(String message) {
+        super(HttpStatus.NOT_FOUND, message);
+    }
+}
@@ -0,0 +1,9 @@
+package com.challenge.generator.expression.api.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class ServiceUnavailableException extends ApiException {
+    public ServiceUnavailableException(String message) {
+        super(HttpStatus.SERVICE_UNAVAILABLE, message);
+    }
+}
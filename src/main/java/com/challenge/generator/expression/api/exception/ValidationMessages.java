@@ -7,6 +7,11 @@ public final class ValidationMessages {
     
     public static final String EXPRESSION_REQUIRED = "The 'expression' parameter must not be empty.";
     public static final String DYNAMIC_INPUT_REQUIRED = "At least one dynamic input parameter (e.g., 'lastName=doe') is required.";
+    public static final String EXPRESSION_AND_ID_EXCLUSIVE = "Provide either 'expression' or 'expressionId', not both.";
+    public static final String EXPRESSION_REGISTRY_FULL = "The expression registry is full (%d expressions); no new expressions can be registered.";
+    public static final String UNKNOWN_EXPRESSION_ID = "No registered expression found for id '%s'.";
+    public static final String EVALUATION_CAPACITY_EXCEEDED = "Too many expressions are being evaluated; retry later.";
+    public static final String EVALUATION_COST_EXCEEDED = "The expression's estimated cost of %d exceeds the limit of %d; use smaller input lists.";
 
     private ValidationMessages() {
 
@@ -0,0 +1,165 @@
+package com.challenge.generator.expression.api.filter;
+
+import com.challenge.generator.config.AccessLogProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.*;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Structured access log for {@code /generate} and {@code /generate/stream}; streams are logged once the
+ * async response completes, with the time it took to write. Errors and requests slower than the configured threshold
+ * are always logged, everything else at the configured sample rate. The request thread only takes the
+ * timing, makes that decision and offers a record to a lock-free ring buffer; formatting and appender
+ * I/O happen on {@link AccessLogWriter}'s thread, and records are dropped when the buffer is full.
+ */
+@Component
+@ConditionalOnProperty(name = "expression.access-log.enabled", havingValue = "true", matchIfMissing = true)
+@Order(Ordered.LOWEST_PRECEDENCE - 40)
+@Slf4j
+public class AccessLogFilter implements Filter {
+
+    private static final String GENERATE_ENDPOINT_URI = "/generate";
+    private static final String STREAM_ENDPOINT_URI = "/generate/stream";
+    private static final int ERROR_STATUS = 400;
+
+    private final double sampleRate;
+    private final long slowThresholdNanos;
+    private final CaptureRingBuffer<AccessLogRecord> buffer;
+    private final AccessLogWriter writer;
+    private final LongAdder logged = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    public AccessLogFilter(AccessLogProperties properties, MeterRegistry meterRegistry) {
+        this.sampleRate = properties.sampleRate();
+        this.slowThresholdNanos = properties.slowThreshold().toNanos();
+        this.buffer = new CaptureRingBuffer<>(properties.bufferSize());
+        this.writer = new AccessLogWriter(buffer);
+        FunctionCounter.builder("expression.access.log.records", logged, LongAdder::sum)
+                .description("Access log records handed to the writer")
+                .register(meterRegistry);
+        FunctionCounter.builder("expression.access.log.dropped", dropped, LongAdder::sum)
+                .description("Access log records dropped because the buffer was full")
+                .register(meterRegistry);
+        writer.start();
+        log.info("Access log enabled: sampleRate={}, slowThreshold={}", sampleRate, properties.slowThreshold());
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        if (!(request instanceof HttpServletRequest httpRequest)
+                || !(response instanceof HttpServletResponse httpResponse)
+                || !isGenerateRequest(httpRequest)) {
+            chain.doFilter(request, response);
+            return;
+        }
+        long timestamp = System.currentTimeMillis();
+        long start = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            offer(timestamp, httpRequest, HttpServletResponse.SC_INTERNAL_SERVER_ERROR, System.nanoTime() - start,
+                    AccessLogRecord.Reason.ERROR, e.toString());
+            throw e;
+        }
+        if (request.isAsyncStarted()) {
+            request.getAsyncContext().addListener(new LoggingAsyncListener(timestamp, start, httpRequest, httpResponse));
+        } else {
+            sample(timestamp, httpRequest, httpResponse.getStatus(), System.nanoTime() - start);
+        }
+    }
+
+    private static boolean isGenerateRequest(HttpServletRequest request) {
+        var uri = request.getRequestURI();
+        return uri.endsWith(GENERATE_ENDPOINT_URI) || uri.endsWith(STREAM_ENDPOINT_URI);
+    }
+
+    private void sample(long timestamp, HttpServletRequest request, int status, long duration) {
+        if (status >= ERROR_STATUS) {
+            offer(timestamp, request, status, duration, AccessLogRecord.Reason.ERROR, null);
+        } else if (duration >= slowThresholdNanos) {
+            offer(timestamp, request, status, duration, AccessLogRecord.Reason.SLOW, null);
+        } else if (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            offer(timestamp, request, status, duration, AccessLogRecord.Reason.SAMPLED, null);
+        }
+    }
+
+    private void offer(long timestamp, HttpServletRequest request, int status, long duration,
+                       AccessLogRecord.Reason reason, String error) {
+        var logRecord = new AccessLogRecord(timestamp, request.getMethod(), request.getRequestURI(), status, duration,
+                reason, error, Map.copyOf(request.getParameterMap()));
+        if (buffer.offer(logRecord)) {
+            logged.increment();
+        } else {
+            dropped.increment();
+        }
+    }
+
+    public long loggedCount() {
+        return logged.sum();
+    }
+
+    public long droppedCount() {
+        return dropped.sum();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        writer.stop();
+        log.info("Access log stopped: logged={}, dropped={}", logged.sum(), dropped.sum());
+    }
+
+    private final class LoggingAsyncListener implements AsyncListener {
+
+        private final long timestamp;
+        private final long start;
+        private final HttpServletRequest request;
+        private final HttpServletResponse response;
+        private volatile String error;
+
+        private LoggingAsyncListener(long timestamp, long start, HttpServletRequest request,
+                                     HttpServletResponse response) {
+            this.timestamp = timestamp;
+            this.start = start;
+            this.request = request;
+            this.response = response;
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            error = String.valueOf(event.getThrowable());
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            error = "Async request timed out";
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            long duration = System.nanoTime() - start;
+            if (error != null) {
+                offer(timestamp, request, response.getStatus(), duration, AccessLogRecord.Reason.ERROR, error);
+            } else {
+                sample(timestamp, request, response.getStatus(), duration);
+            }
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
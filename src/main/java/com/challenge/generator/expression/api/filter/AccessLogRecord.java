@@ -0,0 +1,24 @@
+package com.challenge.generator.expression.api.filter;
+
+import java.util.Map;
+
+/**
+ * One logged {@code /generate} request. It only holds what the request thread already had at hand;
+ * the log line itself is formatted by {@link AccessLogWriter} on its own thread.
+ *
+ * @param timestamp     epoch milliseconds at which the request arrived
+ * @param durationNanos time spent in the filter chain, including serialization
+ * @param reason        why the request was logged
+ * @param parameters    the raw query parameters, including {@code expression} or {@code expressionId}
+ */
+record AccessLogRecord(long timestamp, String method, String path, int status, long durationNanos,
+                       Reason reason, String error, Map<String, String[]> parameters) {
+
+    enum Reason {
+        SAMPLED, SLOW, ERROR;
+
+        String label() {
+            return name().toLowerCase();
+        }
+    }
+}
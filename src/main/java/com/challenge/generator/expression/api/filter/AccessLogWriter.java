@@ -0,0 +1,92 @@
+package com.challenge.generator.expression.api.filter;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+
+/**
+ * Background thread that drains the access log ring buffer into the {@code com.challenge.generator.access}
+ * logger. Each record is emitted as a {@code key=value} line and, for structured log formats, as the
+ * same key/value pairs, so formatting and appender I/O never happen on a request thread.
+ */
+class AccessLogWriter implements Runnable {
+
+    static final String LOGGER_NAME = "com.challenge.generator.access";
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private static final Logger accessLog = LoggerFactory.getLogger(LOGGER_NAME);
+
+    private final CaptureRingBuffer<AccessLogRecord> buffer;
+    private final Thread thread;
+
+    private volatile boolean running = true;
+
+    AccessLogWriter(CaptureRingBuffer<AccessLogRecord> buffer) {
+        this.buffer = buffer;
+        this.thread = Thread.ofPlatform().name("access-log-writer").daemon().unstarted(this);
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    void stop() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(thread);
+        thread.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    @Override
+    public void run() {
+        while (running) {
+            if (drain() == 0) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+        drain();
+    }
+
+    private int drain() {
+        int count = 0;
+        AccessLogRecord logRecord;
+        while ((logRecord = buffer.poll()) != null) {
+            write(logRecord);
+            count++;
+        }
+        return count;
+    }
+
+    private void write(AccessLogRecord logRecord) {
+        var durationMillis = "%.3f".formatted(logRecord.durationNanos() / NANOS_PER_MILLI);
+        var parameters = format(logRecord.parameters());
+        var event = logRecord.reason() == AccessLogRecord.Reason.ERROR ? accessLog.atWarn() : accessLog.atInfo();
+        event.addKeyValue("timestamp", Instant.ofEpochMilli(logRecord.timestamp()))
+                .addKeyValue("method", logRecord.method())
+                .addKeyValue("path", logRecord.path())
+                .addKeyValue("status", logRecord.status())
+                .addKeyValue("durationMs", durationMillis)
+                .addKeyValue("reason", logRecord.reason().label())
+                .addKeyValue("parameters", parameters);
+        if (logRecord.error() != null) {
+            event.addKeyValue("error", logRecord.error());
+        }
+        event.log("method={} path={} status={} durationMs={} reason={} parameters={}{}",
+                logRecord.method(), logRecord.path(), logRecord.status(), durationMillis, logRecord.reason().label(),
+                parameters, logRecord.error() == null ? "" : " error=\"" + logRecord.error() + "\"");
+    }
+
+    private static String format(Map<String, String[]> parameters) {
+        return parameters.entrySet().stream()
+                .map(entry -> entry.getKey() + "=" + (entry.getValue().length == 1
+                        ? entry.getValue()[0]
+                        : Arrays.toString(entry.getValue())))
+                .collect(Collectors.joining(", ", "{", "}"));
+    }
+}
@@ -0,0 +1,125 @@
+package com.challenge.generator.expression.api.filter;
+
+import com.challenge.generator.expression.engine.model.CancellationToken;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.*;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Gives every {@code /generate} and {@code /generate/stream} request a {@link CancellationToken}, stored as
+ * the {@value #TOKEN_ATTRIBUTE} request attribute, that evaluation and the response writer check as they go.
+ * The token cancels itself after {@code expression.cancellation.deadline}; for async requests, i.e.
+ * streaming, it is also cancelled when the container reports a timeout or an error such as a client
+ * disconnect. Writers that fail because the client went away cancel it themselves.
+ * <p>
+ * Cancelled requests are counted in {@code expression.evaluation.cancelled}, tagged with the reason.
+ */
+@Component
+@ConditionalOnProperty(name = "expression.cancellation.enabled", havingValue = "true", matchIfMissing = true)
+@Order(Ordered.LOWEST_PRECEDENCE - 35)
+public class CancellationFilter implements Filter {
+
+    public static final String TOKEN_ATTRIBUTE = CancellationFilter.class.getName() + ".token";
+    private static final String GENERATE_ENDPOINT_URI = "/generate";
+    private static final String STREAM_ENDPOINT_URI = "/generate/stream";
+
+    private final Duration deadline;
+    private final Map<CancellationToken.Reason, Counter> cancelled = new EnumMap<>(CancellationToken.Reason.class);
+
+    public CancellationFilter(@Value("${expression.cancellation.deadline:30s}") Duration deadline,
+                              MeterRegistry meterRegistry) {
+        this.deadline = deadline;
+        for (CancellationToken.Reason reason : CancellationToken.Reason.values()) {
+            cancelled.put(reason, Counter.builder("expression.evaluation.cancelled")
+                    .description("Requests whose evaluation or response was cancelled")
+                    .tag("reason", reason.label())
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Returns the token of the request being handled on this thread, or {@link CancellationToken#NONE}.
+     */
+    public static CancellationToken currentToken() {
+        var attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null
+                && attributes.getAttribute(TOKEN_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof CancellationToken token) {
+            return token;
+        }
+        return CancellationToken.NONE;
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        if (!(request instanceof HttpServletRequest httpRequest) || !isGenerateRequest(httpRequest)) {
+            chain.doFilter(request, response);
+            return;
+        }
+        var token = CancellationToken.withDeadline(deadline);
+        request.setAttribute(TOKEN_ATTRIBUTE, token);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new CancellingAsyncListener(token));
+            } else {
+                count(token);
+            }
+        }
+    }
+
+    private static boolean isGenerateRequest(HttpServletRequest request) {
+        var uri = request.getRequestURI();
+        return uri.endsWith(GENERATE_ENDPOINT_URI) || uri.endsWith(STREAM_ENDPOINT_URI);
+    }
+
+    private void count(CancellationToken token) {
+        // A deadline that passed after the response was done cancelled nothing, so it must not be counted.
+        var reason = token.cancelledReason();
+        if (reason != null) {
+            cancelled.get(reason).increment();
+        }
+    }
+
+    private final class CancellingAsyncListener implements AsyncListener {
+
+        private final CancellationToken token;
+
+        private CancellingAsyncListener(CancellationToken token) {
+            this.token = token;
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            token.cancel(CancellationToken.Reason.TIMEOUT);
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            token.cancel(CancellationToken.Reason.DISCONNECT);
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            count(token);
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
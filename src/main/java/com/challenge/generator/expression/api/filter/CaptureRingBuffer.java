@@ -0,0 +1,69 @@
+package com.challenge.generator.expression.api.filter;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free multi-producer, single-consumer ring buffer. Each slot carries a sequence
+ * number that tells producers whether it is free and the consumer whether it is published, so
+ * {@link #offer} never blocks: when the buffer is full it returns {@code false} and the caller drops.
+ */
+class CaptureRingBuffer<T> {
+
+    private final int mask;
+    private final AtomicReferenceArray<T> items;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private long head;
+
+    CaptureRingBuffer(int requestedCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(2, requestedCapacity - 1)) << 1;
+        this.mask = capacity - 1;
+        this.items = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    boolean offer(T item) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    items.lazySet(index, item);
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Returns the next published item, or {@code null} when none is available. Must only be
+     * called from the single consumer thread.
+     */
+    T poll() {
+        int index = (int) (head & mask);
+        if (sequences.get(index) != head + 1) {
+            return null;
+        }
+        T item = items.get(index);
+        items.lazySet(index, null);
+        sequences.set(index, head + mask + 1);
+        head++;
+        return item;
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+}
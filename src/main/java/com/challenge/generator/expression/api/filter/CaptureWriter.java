@@ -0,0 +1,138 @@
+package com.challenge.generator.expression.api.filter;
+
+import com.challenge.generator.config.CaptureProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+/**
+ * Background thread that drains the capture ring buffer into {@code requests-<timestamp>.jsonl}
+ * files, rolling over to a new file at the configured size and deleting the oldest files beyond
+ * the configured count. All disk I/O happens here, never on a request thread.
+ */
+@Slf4j
+class CaptureWriter implements Runnable {
+
+    private static final String FILE_PREFIX = "requests-";
+    private static final String FILE_SUFFIX = ".jsonl";
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+    private static final byte NEWLINE = '\n';
+
+    private final CaptureRingBuffer<CapturedRequest> buffer;
+    private final ObjectMapper objectMapper;
+    private final CaptureProperties properties;
+    private final Path directory;
+    private final Thread thread;
+
+    private volatile boolean running = true;
+    private OutputStream out;
+    private long written;
+
+    CaptureWriter(CaptureRingBuffer<CapturedRequest> buffer, ObjectMapper objectMapper, CaptureProperties properties) {
+        this.buffer = buffer;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.directory = Path.of(properties.directory());
+        this.thread = Thread.ofPlatform().name("traffic-capture-writer").daemon().unstarted(this);
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    void stop() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(thread);
+        thread.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    @Override
+    public void run() {
+        try {
+            while (running) {
+                if (drain() == 0) {
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                }
+            }
+            drain();
+        } finally {
+            close();
+        }
+    }
+
+    private int drain() {
+        int count = 0;
+        CapturedRequest request;
+        while ((request = buffer.poll()) != null) {
+            write(request);
+            count++;
+        }
+        if (count > 0 && out != null) {
+            try {
+                out.flush();
+            } catch (IOException e) {
+                log.warn("Could not flush traffic capture: {}", e.getMessage());
+            }
+        }
+        return count;
+    }
+
+    private void write(CapturedRequest request) {
+        try {
+            if (out == null || written >= properties.maxFileBytes()) {
+                rotate();
+            }
+            byte[] line = objectMapper.writeValueAsBytes(request);
+            out.write(line);
+            out.write(NEWLINE);
+            written += line.length + 1;
+        } catch (IOException e) {
+            log.warn("Dropping captured request: {}", e.getMessage());
+        }
+    }
+
+    private void rotate() throws IOException {
+        close();
+        Files.createDirectories(directory);
+        var file = directory.resolve(FILE_PREFIX + LocalDateTime.now().format(FILE_TIMESTAMP) + FILE_SUFFIX);
+        out = new BufferedOutputStream(Files.newOutputStream(file));
+        written = 0;
+        log.info("Capturing sampled traffic to {}", file);
+        deleteOldestFiles();
+    }
+
+    private void deleteOldestFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            var captures = files
+                    .filter(f -> f.getFileName().toString().startsWith(FILE_PREFIX) && f.toString().endsWith(FILE_SUFFIX))
+                    .sorted()
+                    .toList();
+            for (int i = 0; i < captures.size() - properties.maxFiles(); i++) {
+                Files.deleteIfExists(captures.get(i));
+            }
+        }
+    }
+
+    private void close() {
+        if (out == null) {
+            return;
+        }
+        try {
+            out.close();
+        } catch (IOException e) {
+            log.warn("Could not close traffic capture file: {}", e.getMessage());
+        }
+        out = null;
+    }
+}
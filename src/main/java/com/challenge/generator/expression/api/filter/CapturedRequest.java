@@ -0,0 +1,11 @@
+package com.challenge.generator.expression.api.filter;
+
+import java.util.Map;
+
+/**
+ * One sampled request, written as a line of a {@code requests.jsonl} capture file.
+ *
+ * @param timestamp epoch milliseconds at which the request arrived, used to replay original timing
+ */
+public record CapturedRequest(long timestamp, String expression, Map<String, String> inputs) {
+}
@@ -1,11 +1,16 @@
 package com.challenge.generator.expression.api.filter;
 
 import com.challenge.generator.expression.api.service.ExpressionPreprocessor;
+import com.challenge.generator.expression.engine.core.EvaluationListener;
+import com.challenge.generator.expression.engine.core.EvaluationPhase;
+import com.challenge.generator.expression.engine.core.ExpressionEvaluator;
 import jakarta.servlet.*;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletRequestWrapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 
@@ -18,14 +23,18 @@ import java.util.Map;
 import java.util.regex.Pattern;
 
 @Component
+@Order(Ordered.LOWEST_PRECEDENCE - 10)
 @RequiredArgsConstructor
 @Slf4j
 public class ExpressionRequestInterceptor implements Filter {
 
     private static final String GENERATE_ENDPOINT_URI = "/generate";
+    private static final String STREAM_ENDPOINT_URI = "/generate/stream";
     private static final String EXPRESSION_PARAM = "expression";
+    private static final String EXPRESSION_PARAM_PREFIX = EXPRESSION_PARAM + "=";
 
     private final ExpressionPreprocessor expressionPreprocessor;
+    private final ExpressionEvaluator expressionEvaluator;
 
     @Override
     public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
@@ -33,7 +42,8 @@ public class ExpressionRequestInterceptor implements Filter {
 
         if (shouldPreprocess(request)) {
             log.debug("Intercepting GET request for expression preprocessing.");
-            var wrappedRequest = new PreprocessingRequestWrapper((HttpServletRequest) request, expressionPreprocessor);
+            var wrappedRequest = new PreprocessingRequestWrapper((HttpServletRequest) request, expressionPreprocessor,
+                    expressionEvaluator.listener());
             chain.doFilter(wrappedRequest, response);
         } else {
             chain.doFilter(request, response);
@@ -45,7 +55,16 @@ public class ExpressionRequestInterceptor implements Filter {
             return false;
         }
         return "GET".equalsIgnoreCase(httpRequest.getMethod()) &&
-                httpRequest.getRequestURI().endsWith(GENERATE_ENDPOINT_URI);
+                (httpRequest.getRequestURI().endsWith(GENERATE_ENDPOINT_URI)
+                        || httpRequest.getRequestURI().endsWith(STREAM_ENDPOINT_URI)) &&
+                hasExpressionParameter(httpRequest.getQueryString());
+    }
+
+    private boolean hasExpressionParameter(String queryString) {
+        if (!StringUtils.hasText(queryString)) {
+            return false;
+        }
+        return queryString.startsWith(EXPRESSION_PARAM_PREFIX) || queryString.contains("&" + EXPRESSION_PARAM_PREFIX);
     }
 
     private static class PreprocessingRequestWrapper extends HttpServletRequestWrapper {
@@ -53,12 +72,15 @@ public class ExpressionRequestInterceptor implements Filter {
         private static final Pattern PARAM_DELIMITER = Pattern.compile("&(?=[a-zA-Z][a-zA-Z0-9]*=)");
 
         private final ExpressionPreprocessor preprocessor;
+        private final EvaluationListener listener;
         private final Map<String, String[]> processedParameters;
         private boolean parametersProcessed = false;
 
-        public PreprocessingRequestWrapper(HttpServletRequest request, ExpressionPreprocessor preprocessor) {
+        public PreprocessingRequestWrapper(HttpServletRequest request, ExpressionPreprocessor preprocessor,
+                                           EvaluationListener listener) {
             super(request);
             this.preprocessor = preprocessor;
+            this.listener = listener;
             this.processedParameters = new HashMap<>();
         }
 
@@ -116,7 +138,9 @@ public class ExpressionRequestInterceptor implements Filter {
 
         private String maybePreprocessValue(String key, String originalValue) {
             if (EXPRESSION_PARAM.equals(key)) {
+                long start = System.nanoTime();
                 String preprocessedValue = preprocessor.preprocess(originalValue);
+                listener.onPhase(EvaluationPhase.PREPROCESS, System.nanoTime() - start);
                 log.debug("Preprocessed expression: '{}' -> '{}'", originalValue, preprocessedValue);
                 return preprocessedValue;
             }
@@ -0,0 +1,108 @@
+package com.challenge.generator.expression.api.filter;
+
+import com.challenge.generator.config.AccountingProperties;
+import com.challenge.generator.expression.api.metrics.ResourceAccounting;
+import jakarta.servlet.*;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+
+/**
+ * Accounts the CPU time and allocated bytes of evaluating and serializing {@code /generate} and
+ * {@code /generate/stream} requests to the client named in the client id header. Streams are recorded
+ * once the async response completes, since their rows are produced while it is written. With
+ * {@code expression.accounting.response-headers} the totals are also returned as {@code X-Cpu-Time-Micros}
+ * and {@code X-Allocated-Bytes}; serialization has to finish before they are known, so the body is
+ * buffered in that case, and streams, which are never buffered, get no headers.
+ */
+@Component
+@ConditionalOnProperty(name = "expression.accounting.enabled", havingValue = "true", matchIfMissing = true)
+@Order(Ordered.LOWEST_PRECEDENCE - 30)
+public class ResourceAccountingFilter implements Filter {
+
+    static final String CPU_TIME_HEADER = "X-Cpu-Time-Micros";
+    static final String ALLOCATED_BYTES_HEADER = "X-Allocated-Bytes";
+    private static final String GENERATE_ENDPOINT_URI = "/generate";
+    private static final String STREAM_ENDPOINT_URI = "/generate/stream";
+
+    private final ResourceAccounting accounting;
+    private final String clientHeader;
+    private final boolean responseHeaders;
+
+    public ResourceAccountingFilter(ResourceAccounting accounting, AccountingProperties properties) {
+        this.accounting = accounting;
+        this.clientHeader = properties.clientHeader();
+        this.responseHeaders = properties.responseHeaders();
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        if (!(request instanceof HttpServletRequest httpRequest)) {
+            chain.doFilter(request, response);
+            return;
+        }
+        var uri = httpRequest.getRequestURI();
+        boolean stream = uri.endsWith(STREAM_ENDPOINT_URI);
+        if (!stream && !uri.endsWith(GENERATE_ENDPOINT_URI)) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        var usage = accounting.start();
+        var clientId = httpRequest.getHeader(clientHeader);
+        var buffered = responseHeaders && !stream
+                ? new ContentCachingResponseWrapper((HttpServletResponse) response) : null;
+        try {
+            chain.doFilter(request, buffered == null ? response : buffered);
+        } finally {
+            if (request.isAsyncStarted()) {
+                accounting.detach();
+                request.getAsyncContext().addListener(new RecordingAsyncListener(clientId, usage));
+            } else {
+                accounting.stop();
+                accounting.record(clientId, usage);
+            }
+        }
+        if (buffered != null) {
+            buffered.setHeader(CPU_TIME_HEADER, Long.toString(usage.totalCpuNanos() / 1_000));
+            buffered.setHeader(ALLOCATED_BYTES_HEADER, Long.toString(usage.totalAllocatedBytes()));
+            buffered.copyBodyToResponse();
+        }
+    }
+
+    private final class RecordingAsyncListener implements AsyncListener {
+
+        private final String clientId;
+        private final ResourceAccounting.Usage usage;
+
+        private RecordingAsyncListener(String clientId, ResourceAccounting.Usage usage) {
+            this.clientId = clientId;
+            this.usage = usage;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            accounting.complete();
+            accounting.record(clientId, usage);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.challenge.generator.expression.api.filter;
+
+import com.challenge.generator.expression.api.metrics.ServerTimingRecorder;
+import jakarta.servlet.*;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * Adds a {@code Server-Timing} header with the preprocess, tokenize, parse, evaluate and serialize
+ * durations and the result count to {@code /generate} responses. It is enabled for every request by
+ * {@code expression.server-timing.enabled}, or per request by sending {@code X-Server-Timing: true}.
+ * Serialization happens while the body is written, so the body of a timed response is buffered
+ * until the header is set; untimed requests pass straight through.
+ * <p>
+ * Buffering is restricted to the synchronous {@code /generate} endpoint. {@code /generate/stream} is
+ * written asynchronously, row by row, and holding it back would defeat streaming, so its body is never
+ * buffered: the header is added just before the first byte is written and only carries the phases that
+ * finished by then, i.e. preprocessing, tokenizing and parsing.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 20)
+public class ServerTimingFilter implements Filter {
+
+    public static final String REQUEST_HEADER = "X-Server-Timing";
+    private static final String RESPONSE_HEADER = "Server-Timing";
+    private static final String GENERATE_ENDPOINT_URI = "/generate";
+    private static final String STREAM_ENDPOINT_URI = "/generate/stream";
+
+    private final ServerTimingRecorder recorder;
+    private final boolean alwaysEnabled;
+
+    public ServerTimingFilter(ServerTimingRecorder recorder,
+                              @Value("${expression.server-timing.enabled:false}") boolean alwaysEnabled) {
+        this.recorder = recorder;
+        this.alwaysEnabled = alwaysEnabled;
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        if (!isTimed(request)) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        var timings = recorder.start();
+        if (isStreaming((HttpServletRequest) request)) {
+            try {
+                chain.doFilter(request, new HeaderOnFirstWriteResponse((HttpServletResponse) response, timings));
+            } finally {
+                recorder.stop();
+            }
+            return;
+        }
+        var buffered = new ContentCachingResponseWrapper((HttpServletResponse) response);
+        try {
+            chain.doFilter(request, buffered);
+        } finally {
+            recorder.stop();
+        }
+        buffered.setHeader(RESPONSE_HEADER, timings.toHeaderValue());
+        buffered.copyBodyToResponse();
+    }
+
+    private boolean isTimed(ServletRequest request) {
+        if (!(request instanceof HttpServletRequest httpRequest)
+                || !(httpRequest.getRequestURI().endsWith(GENERATE_ENDPOINT_URI) || isStreaming(httpRequest))) {
+            return false;
+        }
+        return alwaysEnabled || Boolean.parseBoolean(httpRequest.getHeader(REQUEST_HEADER));
+    }
+
+    private static boolean isStreaming(HttpServletRequest request) {
+        return request.getRequestURI().endsWith(STREAM_ENDPOINT_URI);
+    }
+
+    /**
+     * Sets the {@code Server-Timing} header from the timings recorded so far as soon as the body is about
+     * to be written, without holding any of it back.
+     */
+    private static final class HeaderOnFirstWriteResponse extends HttpServletResponseWrapper {
+
+        private final ServerTimingRecorder.Timings timings;
+        private boolean headerSet;
+
+        private HeaderOnFirstWriteResponse(HttpServletResponse response, ServerTimingRecorder.Timings timings) {
+            super(response);
+            this.timings = timings;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            setTimingHeader();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            setTimingHeader();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            setTimingHeader();
+            super.flushBuffer();
+        }
+
+        private void setTimingHeader() {
+            if (!headerSet && !isCommitted()) {
+                setHeader(RESPONSE_HEADER, timings.toHeaderValue());
+            }
+            headerSet = true;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.challenge.generator.expression.api.filter;
+
+import com.challenge.generator.config.CaptureProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.*;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Samples {@code GET /generate} and {@code GET /generate/stream} requests into {@code requests.jsonl}-format capture files for
+ * benchmarking against real traffic. It runs after {@link ExpressionRequestInterceptor}, so it
+ * records the preprocessed expression and decoded inputs the controller saw. The request thread
+ * only makes the sampling decision and offers to a lock-free ring buffer; when the buffer is
+ * full the request is dropped rather than waited on.
+ */
+@Component
+@ConditionalOnProperty(name = "expression.capture.enabled", havingValue = "true")
+@Order(Ordered.LOWEST_PRECEDENCE)
+@Slf4j
+public class TrafficCaptureFilter implements Filter {
+
+    private static final String GENERATE_ENDPOINT_URI = "/generate";
+    private static final String STREAM_ENDPOINT_URI = "/generate/stream";
+    private static final String EXPRESSION_PARAM = "expression";
+
+    private final double sampleRate;
+    private final CaptureRingBuffer<CapturedRequest> buffer;
+    private final CaptureWriter writer;
+    private final LongAdder captured = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    public TrafficCaptureFilter(CaptureProperties properties, ObjectMapper objectMapper) {
+        this.sampleRate = properties.sampleRate();
+        this.buffer = new CaptureRingBuffer<>(properties.bufferSize());
+        this.writer = new CaptureWriter(buffer, objectMapper, properties);
+        writer.start();
+        log.info("Traffic capture enabled: sampleRate={}, directory={}", sampleRate, properties.directory());
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        long timestamp = System.currentTimeMillis();
+        chain.doFilter(request, response);
+
+        if (isGenerateRequest(request) && ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            capture(timestamp, request.getParameterMap());
+        }
+    }
+
+    private boolean isGenerateRequest(ServletRequest request) {
+        return request instanceof HttpServletRequest httpRequest
+                && "GET".equalsIgnoreCase(httpRequest.getMethod())
+                && (httpRequest.getRequestURI().endsWith(GENERATE_ENDPOINT_URI)
+                || httpRequest.getRequestURI().endsWith(STREAM_ENDPOINT_URI));
+    }
+
+    private void capture(long timestamp, Map<String, String[]> parameters) {
+        var expression = first(parameters.get(EXPRESSION_PARAM));
+        if (!StringUtils.hasText(expression)) {
+            return;
+        }
+        var inputs = new HashMap<String, String>();
+        parameters.forEach((name, values) -> {
+            if (!EXPRESSION_PARAM.equals(name)) {
+                inputs.put(name, first(values));
+            }
+        });
+        if (buffer.offer(new CapturedRequest(timestamp, expression, inputs))) {
+            captured.increment();
+        } else {
+            dropped.increment();
+        }
+    }
+
+    private static String first(String[] values) {
+        return values == null || values.length == 0 ? null : values[0];
+    }
+
+    public long capturedCount() {
+        return captured.sum();
+    }
+
+    public long droppedCount() {
+        return dropped.sum();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        writer.stop();
+        log.info("Traffic capture stopped: captured={}, dropped={}", captured.sum(), dropped.sum());
+    }
+}
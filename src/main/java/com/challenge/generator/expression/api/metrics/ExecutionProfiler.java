@@ -0,0 +1,115 @@
+package com.challenge.generator.expression.api.metrics;
+
+import com.challenge.generator.config.ProfilingProperties;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Samples the JVM with JFR's {@code jdk.ExecutionSample} event through a {@link RecordingStream} for a
+ * bounded time and folds the stacks into collapsed-stack format ({@code frame;frame;frame count} per
+ * line, root first), ready for flame graph tools. Only stacks that pass through one of the configured
+ * packages are kept, starting at their outermost frame in those packages, so servlet container frames
+ * do not drown out the engine.
+ */
+@Component
+@Slf4j
+public class ExecutionProfiler {
+
+    private static final String EXECUTION_SAMPLE = "jdk.ExecutionSample";
+
+    private final ProfilingProperties properties;
+    private final Semaphore sessions;
+
+    public ExecutionProfiler(ProfilingProperties properties) {
+        this.properties = properties;
+        this.sessions = new Semaphore(properties.maxSessions());
+    }
+
+    /**
+     * Samples for {@code duration} (capped at the configured maximum) and returns the collapsed stacks,
+     * or an empty optional when the maximum number of sessions is already running.
+     */
+    public Optional<String> profile(Duration duration) throws InterruptedException {
+        if (!sessions.tryAcquire()) {
+            return Optional.empty();
+        }
+        try {
+            var bounded = duration.compareTo(properties.maxDuration()) > 0 ? properties.maxDuration() : duration;
+            return Optional.of(sample(bounded));
+        } finally {
+            sessions.release();
+        }
+    }
+
+    public Duration defaultDuration() {
+        return properties.defaultDuration();
+    }
+
+    private String sample(Duration duration) throws InterruptedException {
+        Map<String, LongAdder> stacks = new ConcurrentHashMap<>();
+        try (var stream = new RecordingStream()) {
+            stream.enable(EXECUTION_SAMPLE).withPeriod(properties.samplingInterval());
+            stream.onEvent(EXECUTION_SAMPLE, event -> collapse(event)
+                    .ifPresent(stack -> stacks.computeIfAbsent(stack, key -> new LongAdder()).increment()));
+            stream.startAsync();
+            log.info("Profiling started for {}", duration);
+            Thread.sleep(duration.toMillis());
+            stream.stop();
+        }
+        log.info("Profiling finished with {} distinct stack(s)", stacks.size());
+        return stacks.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(entry -> entry.getKey() + " " + entry.getValue().sum())
+                .collect(Collectors.joining("\n", "", stacks.isEmpty() ? "" : "\n"));
+    }
+
+    private Optional<String> collapse(RecordedEvent event) {
+        var trace = event.getStackTrace();
+        if (trace == null) {
+            return Optional.empty();
+        }
+        List<RecordedFrame> frames = trace.getFrames();
+        int outermost = -1;
+        for (int i = frames.size() - 1; i >= 0; i--) {
+            if (isProfiled(frames.get(i))) {
+                outermost = i;
+                break;
+            }
+        }
+        if (outermost < 0) {
+            return Optional.empty();
+        }
+        var names = new ArrayList<String>(outermost + 1);
+        for (int i = outermost; i >= 0; i--) {
+            var method = frames.get(i).getMethod();
+            names.add(method.getType().getName() + "." + method.getName());
+        }
+        return Optional.of(String.join(";", names));
+    }
+
+    private boolean isProfiled(RecordedFrame frame) {
+        if (!frame.isJavaFrame()) {
+            return false;
+        }
+        var type = frame.getMethod().getType().getName();
+        for (String prefix : properties.packages()) {
+            if (type.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,13 @@
+package com.challenge.generator.expression.api.metrics;
+
+/**
+ * Aggregated statistics of one normalized expression, as returned by the {@code expressionstats} endpoint.
+ * Latencies cover evaluation only; bytes are the serialized responses of {@code /generate}
+ * and the streamed rows of {@code /generate/stream}.
+ *
+ * @param fingerprint see {@link com.challenge.generator.expression.engine.plan.ExpressionShape#fingerprint()}
+ * @param expression  the expression's tokens with literals replaced by {@code $}
+ */
+public record ExpressionStats(String fingerprint, String expression, long calls, double totalMillis,
+                              double meanMillis, double maxMillis, long totalResults, long totalBytes) {
+}
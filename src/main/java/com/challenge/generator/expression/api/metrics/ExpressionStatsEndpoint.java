@@ -0,0 +1,40 @@
+package com.challenge.generator.expression.api.metrics;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * {@code GET /actuator/expressionstats?limit=N} lists the most expensive expressions by total evaluation
+ * time; {@code DELETE /actuator/expressionstats} resets the statistics.
+ * <p>
+ * Anyone who can reach it can reset the statistics, so it is not exposed by default. To opt in, add it to
+ * {@code management.endpoints.web.exposure.include} together with a separate {@code management.server.port}
+ * that is only reachable from inside the network.
+ */
+@Component
+@Endpoint(id = "expressionstats")
+public class ExpressionStatsEndpoint {
+
+    private static final int DEFAULT_LIMIT = 20;
+
+    private final ExpressionStatsRegistry registry;
+
+    public ExpressionStatsEndpoint(ExpressionStatsRegistry registry) {
+        this.registry = registry;
+    }
+
+    @ReadOperation
+    public List<ExpressionStats> top(@Nullable Integer limit) {
+        return registry.top(limit == null || limit <= 0 ? DEFAULT_LIMIT : limit);
+    }
+
+    @DeleteOperation
+    public void reset() {
+        registry.reset();
+    }
+}
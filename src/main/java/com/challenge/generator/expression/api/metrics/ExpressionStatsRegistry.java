@@ -0,0 +1,152 @@
+package com.challenge.generator.expression.api.metrics;
+
+import com.challenge.generator.expression.engine.core.EvaluationListener;
+import com.challenge.generator.expression.engine.plan.CompiledPlan;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-expression statistics in the spirit of {@code pg_stat_statements}: call count, total, mean and max
+ * evaluation latency, total results and total response bytes, keyed by the normalized expression
+ * fingerprint. Counters are striped adders, so recording never blocks.
+ * <p>
+ * Memory is bounded by {@code expression.stats.max-entries}. When a new fingerprint pushes the registry
+ * over the limit, one thread evicts the least recently used tenth of the entries; others carry on, so
+ * the size may briefly overshoot.
+ */
+@Component
+public class ExpressionStatsRegistry implements EvaluationListener, ThreadContextHandoff {
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final int maxEntries;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+    private final ThreadLocal<Entry> current = new ThreadLocal<>();
+
+    public ExpressionStatsRegistry(@Value("${expression.stats.max-entries:500}") int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    @Override
+    public void onEvaluation(CompiledPlan plan, long nanos, int resultCount) {
+        var entry = entries.get(plan.fingerprint());
+        if (entry == null) {
+            entry = entries.computeIfAbsent(plan.fingerprint(), fingerprint -> new Entry(fingerprint, plan.shape()));
+            if (entries.size() > maxEntries) {
+                evictColdEntries();
+            }
+        }
+        entry.record(nanos, resultCount);
+        current.set(entry);
+    }
+
+    /**
+     * Attributes the response size to the expression evaluated last on this thread.
+     */
+    @Override
+    public void onResponseSize(long bytes) {
+        var entry = current.get();
+        if (entry != null) {
+            entry.bytes.add(bytes);
+        }
+    }
+
+    /**
+     * Forgets the expression evaluated on this thread, whether or not its response size was reported.
+     */
+    @Override
+    public void onResponseComplete() {
+        current.remove();
+    }
+
+    @Override
+    public Object capture() {
+        return current.get();
+    }
+
+    @Override
+    public void restore(Object context) {
+        if (context == null) {
+            current.remove();
+        } else {
+            current.set((Entry) context);
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} entries, most expensive by total evaluation time first.
+     */
+    public List<ExpressionStats> top(int limit) {
+        return entries.values().stream()
+                .map(Entry::snapshot)
+                .sorted(Comparator.comparingDouble(ExpressionStats::totalMillis).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public void reset() {
+        entries.clear();
+    }
+
+    private void evictColdEntries() {
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            int excess = entries.size() - maxEntries + Math.max(1, maxEntries / 10);
+            entries.values().stream()
+                    .sorted(Comparator.comparingLong(entry -> entry.lastSeen))
+                    .limit(Math.max(0, excess))
+                    .toList()
+                    .forEach(entry -> entries.remove(entry.fingerprint, entry));
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    private static final class Entry {
+        private final String fingerprint;
+        private final String expression;
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+        private final LongAdder results = new LongAdder();
+        private final LongAdder bytes = new LongAdder();
+        private volatile long lastSeen;
+
+        private Entry(String fingerprint, String expression) {
+            this.fingerprint = fingerprint;
+            this.expression = expression;
+            this.lastSeen = System.nanoTime();
+        }
+
+        private void record(long nanos, int resultCount) {
+            calls.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+            results.add(resultCount);
+            lastSeen = System.nanoTime();
+        }
+
+        private ExpressionStats snapshot() {
+            long count = calls.sum();
+            long total = totalNanos.sum();
+            return new ExpressionStats(fingerprint, expression, count, total / NANOS_PER_MILLI,
+                    count == 0 ? 0 : total / NANOS_PER_MILLI / count, maxNanos.get() / NANOS_PER_MILLI,
+                    results.sum(), bytes.sum());
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.challenge.generator.expression.api.metrics;
+
+import com.challenge.generator.expression.api.dto.EmailListResponse;
+import com.challenge.generator.expression.api.filter.CancellationFilter;
+import com.challenge.generator.expression.engine.core.EvaluationListener;
+import com.challenge.generator.expression.engine.core.EvaluationPhase;
+import com.challenge.generator.expression.engine.jfr.ExpressionEvents;
+import com.challenge.generator.expression.engine.jfr.ResponseWriteEvent;
+import com.challenge.generator.expression.engine.model.CancellationToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+
+/**
+ * JSON converter that reports how long writing a generate response took and how many bytes it
+ * produced. Other response types are written unchanged and unmeasured. Generate responses check the
+ * request's cancellation token each time a buffer is written, and cancel it when the client has gone.
+ */
+public class InstrumentedJsonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    private final EvaluationListener listener;
+    private final ResourceAccounting accounting;
+
+    public InstrumentedJsonHttpMessageConverter(ObjectMapper objectMapper, EvaluationListener listener,
+                                                ResourceAccounting accounting) {
+        super(objectMapper);
+        this.listener = listener;
+        this.accounting = accounting;
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        try {
+            if (object instanceof EmailListResponse response) {
+                writeMeasured(response, type, outputMessage);
+            } else {
+                super.writeInternal(object, type, outputMessage);
+            }
+        } finally {
+            // The response is the last thing recorded for the request, so pooled threads must not carry its
+            // state into the next one, whether that was this response or an error body written instead.
+            ExpressionEvents.restoreFingerprint(null);
+            listener.onResponseComplete();
+        }
+    }
+
+    private void writeMeasured(EmailListResponse response, Type type, HttpOutputMessage outputMessage)
+            throws IOException {
+        var counting = new CountingOutputMessage(outputMessage, CancellationFilter.currentToken());
+        var event = new ResponseWriteEvent();
+        event.begin();
+        long start = System.nanoTime();
+        try (var ignored = accounting.measure(EvaluationPhase.SERIALIZE)) {
+            super.writeInternal(response, type, counting);
+        } catch (IOException e) {
+            counting.cancellation.cancel(CancellationToken.Reason.DISCONNECT);
+            throw e;
+        }
+        listener.onPhase(EvaluationPhase.SERIALIZE, System.nanoTime() - start);
+        listener.onResponseSize(counting.bytesWritten());
+        event.complete(response.data().size(), counting.bytesWritten());
+    }
+
+    private static final class CountingOutputMessage implements HttpOutputMessage {
+
+        private final HttpOutputMessage delegate;
+        private final CancellationToken cancellation;
+        private CountingOutputStream body;
+
+        private CountingOutputMessage(HttpOutputMessage delegate, CancellationToken cancellation) {
+            this.delegate = delegate;
+            this.cancellation = cancellation;
+        }
+
+        @Override
+        public OutputStream getBody() throws IOException {
+            if (body == null) {
+                body = new CountingOutputStream(delegate.getBody(), cancellation);
+            }
+            return body;
+        }
+
+        private long bytesWritten() {
+            return body == null ? 0 : body.count;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+    }
+
+    private static final class CountingOutputStream extends FilterOutputStream {
+
+        private final CancellationToken cancellation;
+        private long count;
+
+        private CountingOutputStream(OutputStream out, CancellationToken cancellation) {
+            super(out);
+            this.cancellation = cancellation;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            cancellation.throwIfCancelled();
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
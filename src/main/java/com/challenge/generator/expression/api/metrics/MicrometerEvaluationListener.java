@@ -0,0 +1,89 @@
+package com.challenge.generator.expression.api.metrics;
+
+import com.challenge.generator.expression.engine.core.EvaluationListener;
+import com.challenge.generator.expression.engine.core.EvaluationPhase;
+import com.challenge.generator.expression.engine.core.FunctionRegistry;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes the evaluation pipeline's timings to Micrometer:
+ * <ul>
+ *     <li>{@code expression.phase} - timer per {@link EvaluationPhase}, tagged {@code phase}</li>
+ *     <li>{@code expression.function} - timer per function, tagged {@code function}; its count is the
+ *     number of invocations</li>
+ *     <li>{@code expression.results} - distribution of result counts per evaluation</li>
+ *     <li>{@code expression.response.size} - distribution of serialized response sizes</li>
+ * </ul>
+ * Meters are resolved once up front, so recording is a lookup-free update of Micrometer's striped
+ * accumulators. Percentile histograms can be enabled per meter through the usual
+ * {@code management.metrics.distribution.*} properties.
+ */
+@Component
+public class MicrometerEvaluationListener implements EvaluationListener {
+
+    private final MeterRegistry registry;
+    private final Map<EvaluationPhase, Timer> phaseTimers = new EnumMap<>(EvaluationPhase.class);
+    private final Map<String, Timer> functionTimers = new ConcurrentHashMap<>();
+    private final DistributionSummary resultCounts;
+    private final DistributionSummary responseSizes;
+
+    public MicrometerEvaluationListener(MeterRegistry registry, FunctionRegistry functionRegistry) {
+        this.registry = registry;
+        for (EvaluationPhase phase : EvaluationPhase.values()) {
+            phaseTimers.put(phase, Timer.builder("expression.phase")
+                    .description("Time spent in each phase of handling an expression request")
+                    .tag("phase", phase.getLabel())
+                    .register(registry));
+        }
+        functionRegistry.getRegisteredFunctionNames().forEach(this::functionTimer);
+        this.resultCounts = DistributionSummary.builder("expression.results")
+                .description("Number of results produced per evaluation")
+                .baseUnit("results")
+                .register(registry);
+        this.responseSizes = DistributionSummary.builder("expression.response.size")
+                .description("Serialized size of generate responses")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    @Override
+    public void onPhase(EvaluationPhase phase, long nanos) {
+        phaseTimers.get(phase).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void onFunction(String name, long nanos) {
+        functionTimer(name).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void onResultCount(int count) {
+        resultCounts.record(count);
+    }
+
+    @Override
+    public void onResponseSize(long bytes) {
+        responseSizes.record(bytes);
+    }
+
+    private Timer functionTimer(String name) {
+        var key = name.toLowerCase(Locale.ROOT);
+        var timer = functionTimers.get(key);
+        if (timer == null) {
+            timer = functionTimers.computeIfAbsent(key, function -> Timer.builder("expression.function")
+                    .description("Time spent in each function invocation, including its arguments")
+                    .tag("function", function)
+                    .register(registry));
+        }
+        return timer;
+    }
+}
@@ -0,0 +1,37 @@
+package com.challenge.generator.expression.api.metrics;
+
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * {@code GET /actuator/profiling?seconds=N} samples the node for N seconds and returns collapsed stacks of
+ * the expression engine as plain text. Responds with 429 when the session limit is reached.
+ * <p>
+ * A session holds the calling thread for its whole duration, so it is not exposed by default. To opt in,
+ * add it to {@code management.endpoints.web.exposure.include} together with a separate
+ * {@code management.server.port} that is only reachable from inside the network.
+ */
+@Component
+@WebEndpoint(id = "profiling")
+public class ProfilingEndpoint {
+
+    private final ExecutionProfiler profiler;
+
+    public ProfilingEndpoint(ExecutionProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    @ReadOperation(produces = "text/plain")
+    public WebEndpointResponse<String> profile(@Nullable Integer seconds) throws InterruptedException {
+        var duration = seconds == null || seconds <= 0 ? profiler.defaultDuration() : Duration.ofSeconds(seconds);
+        return profiler.profile(duration)
+                .map(stacks -> new WebEndpointResponse<>(stacks, WebEndpointResponse.STATUS_OK))
+                .orElseGet(() -> new WebEndpointResponse<>("A profiling session is already running\n",
+                        WebEndpointResponse.STATUS_TOO_MANY_REQUESTS));
+    }
+}
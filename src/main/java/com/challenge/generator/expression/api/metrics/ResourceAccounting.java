@@ -0,0 +1,212 @@
+package com.challenge.generator.expression.api.metrics;
+
+import com.challenge.generator.config.AccountingProperties;
+import com.challenge.generator.expression.engine.core.EvaluationPhase;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Measures thread CPU time and allocated bytes of request phases and publishes them per client:
+ * <ul>
+ *     <li>{@code expression.request.cpu} - CPU time, tagged {@code client} and {@code phase}</li>
+ *     <li>{@code expression.request.allocated} - allocated bytes, tagged {@code client} and {@code phase}</li>
+ * </ul>
+ * Measurements are only taken for requests that called {@link #start()}; otherwise {@link #measure}
+ * returns a shared no-op after a single read of the active-request count. A phase runs on a single
+ * thread, the request's own or the evaluation worker it was handed to, so that thread's counters are
+ * exactly the request's usage.
+ */
+@Component
+public class ResourceAccounting implements ThreadContextHandoff {
+
+    static final String UNKNOWN_CLIENT = "unknown";
+    static final String OTHER_CLIENT = "other";
+
+    private static final Measurement NOOP = () -> {
+    };
+
+    private final MeterRegistry registry;
+    private final int maxClients;
+    private final com.sun.management.ThreadMXBean threads = threads();
+    private final AtomicInteger active = new AtomicInteger();
+    private final ThreadLocal<Usage> current = new ThreadLocal<>();
+    private final Map<String, ClientMeters> clients = new ConcurrentHashMap<>();
+
+    public ResourceAccounting(MeterRegistry registry, AccountingProperties properties) {
+        this.registry = registry;
+        this.maxClients = properties.maxClients();
+    }
+
+    public Usage start() {
+        var usage = new Usage();
+        current.set(usage);
+        active.incrementAndGet();
+        return usage;
+    }
+
+    public void stop() {
+        detach();
+        complete();
+    }
+
+    /**
+     * Drops the request from the calling thread while its response is still being produced elsewhere, e.g.
+     * a stream; its measurements keep counting until {@link #complete()}.
+     */
+    public void detach() {
+        current.remove();
+    }
+
+    public void complete() {
+        active.decrementAndGet();
+    }
+
+    @Override
+    public Object capture() {
+        return current.get();
+    }
+
+    @Override
+    public void restore(Object context) {
+        if (context == null) {
+            current.remove();
+        } else {
+            current.set((Usage) context);
+        }
+    }
+
+    /**
+     * Starts measuring {@code phase}; closing the returned measurement adds the CPU time and bytes
+     * allocated since to the current request.
+     */
+    public Measurement measure(EvaluationPhase phase) {
+        if (active.get() == 0 || threads == null) {
+            return NOOP;
+        }
+        var usage = current.get();
+        if (usage == null) {
+            return NOOP;
+        }
+        long cpuStart = threads.getCurrentThreadCpuTime();
+        long bytesStart = threads.getCurrentThreadAllocatedBytes();
+        return () -> usage.add(phase, threads.getCurrentThreadCpuTime() - cpuStart,
+                threads.getCurrentThreadAllocatedBytes() - bytesStart);
+    }
+
+    /**
+     * Publishes the measured phases of a finished request under the client's tag.
+     */
+    public void record(String clientId, Usage usage) {
+        var meters = meters(clientId == null || clientId.isBlank() ? UNKNOWN_CLIENT : clientId);
+        for (EvaluationPhase phase : EvaluationPhase.values()) {
+            if (usage.isMeasured(phase)) {
+                meters.cpu(phase).record(usage.cpuNanos(phase), TimeUnit.NANOSECONDS);
+                meters.allocated(phase).record(usage.allocatedBytes(phase));
+            }
+        }
+    }
+
+    private ClientMeters meters(String clientId) {
+        var meters = clients.get(clientId);
+        if (meters != null) {
+            return meters;
+        }
+        if (clients.size() >= maxClients) {
+            return clients.computeIfAbsent(OTHER_CLIENT, ClientMeters::new);
+        }
+        return clients.computeIfAbsent(clientId, ClientMeters::new);
+    }
+
+    private static com.sun.management.ThreadMXBean threads() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads
+                && threads.isCurrentThreadCpuTimeSupported() && threads.isThreadCpuTimeEnabled()
+                && threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()) {
+            return threads;
+        }
+        return null;
+    }
+
+    @FunctionalInterface
+    public interface Measurement extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    /**
+     * CPU time and allocated bytes of one request, per phase. Only touched by one thread at a time.
+     */
+    public static final class Usage {
+
+        private final long[] cpuNanos = new long[EvaluationPhase.values().length];
+        private final long[] allocatedBytes = new long[EvaluationPhase.values().length];
+        private final boolean[] measured = new boolean[EvaluationPhase.values().length];
+
+        private void add(EvaluationPhase phase, long cpu, long bytes) {
+            cpuNanos[phase.ordinal()] += cpu;
+            allocatedBytes[phase.ordinal()] += bytes;
+            measured[phase.ordinal()] = true;
+        }
+
+        public boolean isMeasured(EvaluationPhase phase) {
+            return measured[phase.ordinal()];
+        }
+
+        public long cpuNanos(EvaluationPhase phase) {
+            return cpuNanos[phase.ordinal()];
+        }
+
+        public long allocatedBytes(EvaluationPhase phase) {
+            return allocatedBytes[phase.ordinal()];
+        }
+
+        public long totalCpuNanos() {
+            long total = 0;
+            for (long nanos : cpuNanos) {
+                total += nanos;
+            }
+            return total;
+        }
+
+        public long totalAllocatedBytes() {
+            long total = 0;
+            for (long bytes : allocatedBytes) {
+                total += bytes;
+            }
+            return total;
+        }
+    }
+
+    private final class ClientMeters {
+
+        private final String client;
+        private final Map<EvaluationPhase, Timer> cpu = new ConcurrentHashMap<>();
+        private final Map<EvaluationPhase, DistributionSummary> allocated = new ConcurrentHashMap<>();
+
+        private ClientMeters(String client) {
+            this.client = client;
+        }
+
+        private Timer cpu(EvaluationPhase phase) {
+            return cpu.computeIfAbsent(phase, p -> Timer.builder("expression.request.cpu")
+                    .description("Thread CPU time used by a request phase")
+                    .tags("client", client, "phase", p.getLabel())
+                    .register(registry));
+        }
+
+        private DistributionSummary allocated(EvaluationPhase phase) {
+            return allocated.computeIfAbsent(phase, p -> DistributionSummary.builder("expression.request.allocated")
+                    .description("Heap bytes allocated by a request phase")
+                    .baseUnit("bytes")
+                    .tags("client", client, "phase", p.getLabel())
+                    .register(registry));
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.challenge.generator.expression.api.metrics;
+
+import com.challenge.generator.expression.engine.core.EvaluationListener;
+import com.challenge.generator.expression.engine.core.EvaluationPhase;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Collects the phase timings of the current request for the {@code Server-Timing} header. Timings
+ * are only kept for requests that called {@link #start()}; while no such request is in flight every
+ * callback returns after a single read of the active-request count.
+ */
+@Component
+public class ServerTimingRecorder implements EvaluationListener, ThreadContextHandoff {
+
+    private final AtomicInteger active = new AtomicInteger();
+    private final ThreadLocal<Timings> current = new ThreadLocal<>();
+
+    public Timings start() {
+        var timings = new Timings(System.nanoTime());
+        current.set(timings);
+        active.incrementAndGet();
+        return timings;
+    }
+
+    public void stop() {
+        current.remove();
+        active.decrementAndGet();
+    }
+
+    @Override
+    public Object capture() {
+        return current.get();
+    }
+
+    @Override
+    public void restore(Object context) {
+        if (context == null) {
+            current.remove();
+        } else {
+            current.set((Timings) context);
+        }
+    }
+
+    @Override
+    public void onPhase(EvaluationPhase phase, long nanos) {
+        if (active.get() == 0) {
+            return;
+        }
+        var timings = current.get();
+        if (timings != null) {
+            timings.phaseNanos[phase.ordinal()] += nanos;
+        }
+    }
+
+    @Override
+    public void onResultCount(int count) {
+        if (active.get() == 0) {
+            return;
+        }
+        var timings = current.get();
+        if (timings != null) {
+            timings.resultCount = count;
+        }
+    }
+
+    /**
+     * Per-request accumulator. Only touched by one thread at a time: the request's own, or the worker
+     * it handed evaluation to.
+     */
+    public static final class Timings {
+
+        private final long startNanos;
+        private final long[] phaseNanos = new long[EvaluationPhase.values().length];
+        private int resultCount = -1;
+
+        private Timings(long startNanos) {
+            this.startNanos = startNanos;
+        }
+
+        /**
+         * Formats the timings as a {@code Server-Timing} header value, in milliseconds.
+         */
+        public String toHeaderValue() {
+            var header = new StringBuilder();
+            for (EvaluationPhase phase : EvaluationPhase.values()) {
+                header.append(phase.getLabel()).append(";dur=").append(millis(phaseNanos[phase.ordinal()])).append(", ");
+            }
+            header.append("total;dur=").append(millis(System.nanoTime() - startNanos));
+            if (resultCount >= 0) {
+                header.append(", results;desc=\"").append(resultCount).append('"');
+            }
+            return header.toString();
+        }
+
+        private static String millis(long nanos) {
+            return String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.challenge.generator.expression.api.metrics;
+
+/**
+ * Per-request state that a component keeps in a thread local. Work handed to another thread, such as
+ * evaluation on the {@code EvaluationExecutor}, captures it on the request thread and restores it on
+ * the worker, and the other way round once the work is done, so listeners keep attributing to the
+ * right request.
+ */
+public interface ThreadContextHandoff {
+
+    /**
+     * Returns the current thread's state, or {@code null} if there is none.
+     */
+    Object capture();
+
+    /**
+     * Makes {@code context}, as returned by {@link #capture()}, the current thread's state;
+     * {@code null} clears it.
+     */
+    void restore(Object context);
+}
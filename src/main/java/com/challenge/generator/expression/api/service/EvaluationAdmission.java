@@ -0,0 +1,199 @@
+package com.challenge.generator.expression.api.service;
+
+import com.challenge.generator.config.AdmissionProperties;
+import com.challenge.generator.expression.api.exception.ServiceUnavailableException;
+import com.challenge.generator.expression.api.exception.ValidationException;
+import com.challenge.generator.expression.api.exception.ValidationMessages;
+import com.challenge.generator.expression.engine.core.ExpressionEvaluator;
+import com.challenge.generator.expression.engine.plan.BoundPlan;
+import com.challenge.generator.expression.engine.plan.PlanExplainer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Admits evaluations by their estimated cost, so that a handful of huge cross joins cannot starve the many
+ * cheap lookups. The cost is the plan's EXPLAIN estimate with each list sized by splitting its input with
+ * the function's own delimiter, which is cheap enough to compute for every request. Requests at or above
+ * {@code expensive-cost} share the small expensive lane and are rejected with 503 as soon as it is full;
+ * cheap requests have a lane of their own and wait up to {@code max-wait} for a slot. Requests whose
+ * estimate exceeds {@code max-cost} are rejected with 400 without running at all, since retrying them
+ * cannot help.
+ * <p>
+ * Decisions are counted in {@code expression.admission.admitted}, tagged with the lane, and
+ * {@code expression.admission.rejected}, tagged with the reason and the lane, which is {@code none} for
+ * requests over budget. Lane occupancy is published as {@code expression.admission.active}.
+ */
+@Component
+@Slf4j
+public class EvaluationAdmission {
+
+    private static final String NAME = "expression.admission";
+    private static final String NO_LANE = "none";
+
+    public enum Lane {
+        CHEAP, EXPENSIVE;
+
+        public String label() {
+            return name().toLowerCase();
+        }
+    }
+
+    /**
+     * A granted slot in a lane, released when first closed.
+     */
+    public interface Permit extends AutoCloseable {
+        Permit NONE = () -> {
+        };
+
+        @Override
+        void close();
+    }
+
+    private final ExpressionEvaluator expressionEvaluator;
+    private final AdmissionProperties properties;
+    private final Map<Lane, Semaphore> slots = new EnumMap<>(Lane.class);
+    private final Map<Lane, Counter> admitted = new EnumMap<>(Lane.class);
+    private final Map<Lane, Counter> saturated = new EnumMap<>(Lane.class);
+    private final Counter overBudget;
+
+    public EvaluationAdmission(ExpressionEvaluator expressionEvaluator, AdmissionProperties properties,
+                               MeterRegistry meterRegistry) {
+        this.expressionEvaluator = expressionEvaluator;
+        this.properties = properties;
+        for (Lane lane : Lane.values()) {
+            int limit = lane == Lane.CHEAP ? properties.cheapConcurrency() : properties.expensiveConcurrency();
+            var semaphore = new Semaphore(limit);
+            slots.put(lane, semaphore);
+            Gauge.builder(NAME + ".active", semaphore, s -> limit - s.availablePermits())
+                    .description("Evaluations currently running in the lane")
+                    .tag("lane", lane.label())
+                    .register(meterRegistry);
+            admitted.put(lane, Counter.builder(NAME + ".admitted")
+                    .description("Evaluations admitted to the lane")
+                    .tag("lane", lane.label())
+                    .register(meterRegistry));
+            saturated.put(lane, Counter.builder(NAME + ".rejected")
+                    .description("Evaluations rejected before running")
+                    .tag("lane", lane.label())
+                    .tag("reason", "saturated")
+                    .register(meterRegistry));
+        }
+        this.overBudget = Counter.builder(NAME + ".rejected")
+                .description("Evaluations rejected before running")
+                .tag("lane", NO_LANE)
+                .tag("reason", "over-budget")
+                .register(meterRegistry);
+        if (properties.enabled()) {
+            log.info("Admission control enabled: expensiveCost={}, maxCost={}, cheapConcurrency={}, expensiveConcurrency={}",
+                    properties.expensiveCost(), properties.maxCost(), properties.cheapConcurrency(),
+                    properties.expensiveConcurrency());
+        }
+    }
+
+    public boolean isEnabled() {
+        return properties.enabled();
+    }
+
+    /**
+     * Estimates the cost of running {@code plan} on {@code inputs} and takes a slot in the matching lane.
+     * Throws {@link ValidationException} when the request is over budget and {@link ServiceUnavailableException}
+     * when its lane is full. The returned permit must be closed once the results have been produced.
+     */
+    public Permit admit(BoundPlan plan, Map<String, Object> inputs) {
+        if (!properties.enabled()) {
+            return Permit.NONE;
+        }
+        long cost = estimateCost(plan, inputs);
+        if (cost > properties.maxCost()) {
+            overBudget.increment();
+            throw new ValidationException(
+                    String.format(ValidationMessages.EVALUATION_COST_EXCEEDED, cost, properties.maxCost()));
+        }
+        var lane = cost >= properties.expensiveCost() ? Lane.EXPENSIVE : Lane.CHEAP;
+        var semaphore = slots.get(lane);
+        if (!acquire(lane, semaphore)) {
+            saturated.get(lane).increment();
+            throw new ServiceUnavailableException(ValidationMessages.EVALUATION_CAPACITY_EXCEEDED);
+        }
+        admitted.get(lane).increment();
+        var released = new AtomicBoolean();
+        return () -> {
+            if (released.compareAndSet(false, true)) {
+                semaphore.release();
+            }
+        };
+    }
+
+    /**
+     * The plan's estimated cost, i.e. the number of values produced by all of its nodes.
+     */
+    public long estimateCost(BoundPlan plan, Map<String, Object> inputs) {
+        return expressionEvaluator.estimate(plan, properties.assumedListSize(), new InputSizes(inputs)).estimatedCost();
+    }
+
+    private boolean acquire(Lane lane, Semaphore semaphore) {
+        if (lane == Lane.EXPENSIVE || properties.maxWait().isZero()) {
+            return semaphore.tryAcquire();
+        }
+        try {
+            return semaphore.tryAcquire(properties.maxWait().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * How many values splitting {@code value} by {@code delimiter} gives, the way {@code split} does, or -1
+     * when the delimiter is only known at evaluation time.
+     */
+    static long listSize(Object value, String delimiter) {
+        return switch (value) {
+            case null -> 1;
+            case Collection<?> collection -> Math.max(1, collection.size());
+            default -> delimiter == null ? -1 : count(String.valueOf(value), delimiter);
+        };
+    }
+
+    /**
+     * How many values reading {@code value} directly gives: one per element of a list, otherwise one.
+     */
+    static long rows(Object value) {
+        return value instanceof List<?> list ? list.size() : 1;
+    }
+
+    private static long count(String value, String delimiter) {
+        if (delimiter.isEmpty()) {
+            return value.codePointCount(0, value.length());
+        }
+        long parts = 1;
+        for (int next = value.indexOf(delimiter); next >= 0; next = value.indexOf(delimiter, next + delimiter.length())) {
+            parts++;
+        }
+        return parts;
+    }
+
+    private record InputSizes(Map<String, Object> inputs) implements PlanExplainer.InputListSize {
+
+        @Override
+        public long estimate(String input, String delimiter) {
+            return listSize(inputs.get(input), delimiter);
+        }
+
+        @Override
+        public long rows(String input) {
+            return EvaluationAdmission.rows(inputs.get(input));
+        }
+    }
+}
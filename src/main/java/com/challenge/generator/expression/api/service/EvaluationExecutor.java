@@ -0,0 +1,186 @@
+package com.challenge.generator.expression.api.service;
+
+import com.challenge.generator.config.EvaluationExecutorProperties;
+import com.challenge.generator.expression.api.exception.ServiceUnavailableException;
+import com.challenge.generator.expression.api.exception.ValidationMessages;
+import com.challenge.generator.expression.api.metrics.ThreadContextHandoff;
+import com.challenge.generator.expression.engine.jfr.ExpressionEvents;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Bulkhead for CPU-heavy evaluation. When enabled, {@link #execute} hands the evaluation to a fixed pool
+ * of platform threads with a bounded queue and blocks the request thread until it is done; with request
+ * handling on virtual threads ({@code spring.threads.virtual.enabled}) that wait costs no carrier, so a
+ * few huge expressions can only fill the evaluation pool, never the connector. When the queue is full
+ * the request is rejected with 503 instead of waiting.
+ * <p>
+ * Thread-local request state of {@link ThreadContextHandoff} beans and the JFR fingerprint is carried to
+ * the worker and back. The pool is published as the {@code expression.evaluation} executor metrics,
+ * next to {@code expression.evaluation.queue.wait} and {@code expression.evaluation.rejected}.
+ */
+@Component
+@Slf4j
+public class EvaluationExecutor {
+
+    private static final String NAME = "expression.evaluation";
+
+    private final ThreadPoolExecutor executor;
+    private final List<ThreadContextHandoff> handoffs;
+    private final Timer queueWait;
+    private final Counter rejected;
+
+    public EvaluationExecutor(EvaluationExecutorProperties properties, MeterRegistry meterRegistry,
+                              ObjectProvider<ThreadContextHandoff> handoffs) {
+        this.handoffs = handoffs.orderedStream().toList();
+        this.queueWait = Timer.builder(NAME + ".queue.wait")
+                .description("Time evaluations waited for an evaluation thread")
+                .register(meterRegistry);
+        this.rejected = Counter.builder(NAME + ".rejected")
+                .description("Evaluations rejected because the evaluation queue was full")
+                .register(meterRegistry);
+        if (!properties.enabled()) {
+            this.executor = null;
+            return;
+        }
+        this.executor = new ThreadPoolExecutor(properties.threads(), properties.threads(), 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.queueCapacity()),
+                Thread.ofPlatform().name("expression-eval-", 0).daemon().factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        new ExecutorServiceMetrics(executor, NAME, Tags.empty()).bindTo(meterRegistry);
+        log.info("Evaluation executor enabled: threads={}, queueCapacity={}", properties.threads(), properties.queueCapacity());
+    }
+
+    public boolean isEnabled() {
+        return executor != null;
+    }
+
+    /**
+     * Runs {@code evaluation} on the evaluation pool and returns its result, or runs it on the calling
+     * thread when the executor is disabled. Exceptions thrown by the evaluation are rethrown as they are.
+     */
+    public <T> T execute(Supplier<T> evaluation) {
+        if (executor == null) {
+            return evaluation.get();
+        }
+        var handoff = await(submit(capture(), evaluation));
+        restore(handoff.context());
+        return handoff.result();
+    }
+
+    /**
+     * Binds {@code evaluation} to the calling request for work that goes on after the request thread has
+     * returned, such as producing the rows of a streamed response. Each call of the returned supplier runs
+     * like {@link #execute}, but with the request state captured now instead of the calling thread's, and
+     * nothing is handed back to the calling thread.
+     */
+    public <T> Supplier<T> bind(Supplier<T> evaluation) {
+        var requestContext = capture();
+        return () -> executor != null
+                ? await(submit(requestContext, evaluation)).result()
+                : callWith(requestContext, evaluation);
+    }
+
+    /**
+     * Like {@link #bind}, but the returned task always runs on the thread that calls it, for bookkeeping too
+     * cheap to queue for the pool such as completing a streamed response. The calling thread's own state
+     * is put back afterwards.
+     */
+    public Runnable bindInline(Runnable work) {
+        var requestContext = capture();
+        return () -> callWith(requestContext, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    private <T> T callWith(List<Object> context, Supplier<T> evaluation) {
+        var callerContext = capture();
+        restore(context);
+        try {
+            return evaluation.get();
+        } finally {
+            restore(callerContext);
+        }
+    }
+
+    private <T> Future<Handoff<T>> submit(List<Object> context, Supplier<T> evaluation) {
+        long submitted = System.nanoTime();
+        try {
+            return executor.submit(() -> {
+                queueWait.record(System.nanoTime() - submitted, TimeUnit.NANOSECONDS);
+                restore(context);
+                try {
+                    var result = evaluation.get();
+                    return new Handoff<>(result, capture());
+                } finally {
+                    restore(null);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new ServiceUnavailableException(ValidationMessages.EVALUATION_CAPACITY_EXCEEDED);
+        }
+    }
+
+    private static <T> Handoff<T> await(Future<Handoff<T>> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for evaluation", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private List<Object> capture() {
+        var context = new ArrayList<Object>(handoffs.size() + 1);
+        for (ThreadContextHandoff handoff : handoffs) {
+            context.add(handoff.capture());
+        }
+        context.add(ExpressionEvents.currentFingerprint());
+        return context;
+    }
+
+    private void restore(List<Object> context) {
+        for (int i = 0; i < handoffs.size(); i++) {
+            handoffs.get(i).restore(context == null ? null : context.get(i));
+        }
+        ExpressionEvents.restoreFingerprint(context == null ? null : (String) context.getLast());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    private record Handoff<T>(T result, List<Object> context) {
+    }
+}
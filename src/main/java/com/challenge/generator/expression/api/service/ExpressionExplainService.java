@@ -0,0 +1,34 @@
+package com.challenge.generator.expression.api.service;
+
+import com.challenge.generator.expression.api.dto.ExplainRequest;
+import com.challenge.generator.expression.engine.core.ExpressionEvaluator;
+import com.challenge.generator.expression.engine.plan.ExpressionExplanation;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Explains expressions without running them, e.g. so CI can reject expressions whose estimated
+ * fan-out is too large before they reach production. The expression is preprocessed exactly as
+ * it would be for {@code /generate}.
+ */
+@Component
+public class ExpressionExplainService {
+
+    private final ExpressionEvaluator expressionEvaluator;
+    private final ExpressionPreprocessor expressionPreprocessor;
+    private final long defaultAssumedListSize;
+
+    public ExpressionExplainService(ExpressionEvaluator expressionEvaluator,
+                                    ExpressionPreprocessor expressionPreprocessor,
+                                    @Value("${expression.explain.assumed-list-size:10}") long defaultAssumedListSize) {
+        this.expressionEvaluator = expressionEvaluator;
+        this.expressionPreprocessor = expressionPreprocessor;
+        this.defaultAssumedListSize = defaultAssumedListSize;
+    }
+
+    public ExpressionExplanation explain(ExplainRequest request) {
+        var expression = expressionPreprocessor.preprocess(request.expression());
+        long assumedListSize = request.assumedListSize() == null ? defaultAssumedListSize : request.assumedListSize();
+        return expressionEvaluator.explain(expression, assumedListSize);
+    }
+}
@@ -0,0 +1,121 @@
+package com.challenge.generator.expression.api.service;
+
+import com.challenge.generator.config.WarmupProperties;
+import com.challenge.generator.expression.api.dto.CurlGenerationRequest;
+import com.challenge.generator.expression.api.dto.EmailData;
+import com.challenge.generator.expression.api.dto.EmailGenerationRequest;
+import com.challenge.generator.expression.api.dto.EmailListResponse;
+import com.challenge.generator.expression.engine.core.ExpressionEvaluator;
+import com.challenge.generator.expression.engine.jfr.ExpressionEvents;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Replays the request examples and the configured hot expressions through the evaluator and the
+ * JSON response writer so the hot paths are JIT-compiled before real traffic arrives. It runs as an
+ * {@link ApplicationRunner}, which completes before Spring Boot switches readiness to accepting traffic.
+ * <p>
+ * Warm-up shares the plan cache but goes through {@link ExpressionEvaluator#uninstrumented()} with JFR
+ * events muted, so it leaves no trace in request metrics, expression statistics or recordings.
+ */
+@Component
+@ConditionalOnProperty(name = "expression.warmup.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class ExpressionWarmup implements ApplicationRunner {
+
+    private final ExpressionEvaluator expressionEvaluator;
+    private final ObjectMapper objectMapper;
+    private final WarmupProperties properties;
+
+    @Getter
+    private volatile Duration lastDuration = Duration.ZERO;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        var workload = loadWorkload();
+        if (workload.isEmpty()) {
+            log.info("Warm-up skipped: no expressions found");
+            return;
+        }
+
+        long start = System.nanoTime();
+        var evaluator = expressionEvaluator.uninstrumented();
+        long failures = ExpressionEvents.muted(() -> replay(evaluator, workload));
+        lastDuration = Duration.ofNanos(System.nanoTime() - start);
+        log.info("Warm-up finished: {} expression(s) x {} iteration(s) in {} ms ({} failed evaluation(s))",
+                workload.size(), properties.iterations(), lastDuration.toMillis(), failures);
+    }
+
+    private long replay(ExpressionEvaluator evaluator, List<EmailGenerationRequest> workload) {
+        long failures = 0;
+        for (int i = 0; i < properties.iterations(); i++) {
+            for (EmailGenerationRequest request : workload) {
+                if (!evaluate(evaluator, request)) {
+                    failures++;
+                }
+            }
+        }
+        return failures;
+    }
+
+    private boolean evaluate(ExpressionEvaluator evaluator, EmailGenerationRequest request) {
+        try {
+            var results = evaluator.generateResults(request);
+            var response = new EmailListResponse(results.stream().map(EmailData::from).toList());
+            objectMapper.writeValueAsBytes(response);
+            return true;
+        } catch (RuntimeException | JsonProcessingException e) {
+            return false;
+        }
+    }
+
+    private List<EmailGenerationRequest> loadWorkload() {
+        var workload = new ArrayList<EmailGenerationRequest>();
+        properties.hotExpressions().stream()
+                .filter(hot -> StringUtils.hasText(hot.expression()))
+                .forEach(hot -> workload.add(new EmailGenerationRequest(hot.expression(), hot.inputs())));
+
+        var corpus = Path.of(properties.corpusPath());
+        if (!Files.isDirectory(corpus)) {
+            return workload;
+        }
+        try (var files = Files.list(corpus)) {
+            files.filter(file -> file.toString().endsWith(".json"))
+                    .sorted()
+                    .forEach(file -> readExample(file).ifPresent(workload::add));
+        } catch (IOException e) {
+            log.warn("Could not read warm-up corpus {}: {}", corpus, e.getMessage());
+        }
+        return workload;
+    }
+
+    private Optional<EmailGenerationRequest> readExample(Path file) {
+        try {
+            var example = objectMapper.readValue(file.toFile(), CurlGenerationRequest.class);
+            if (!StringUtils.hasText(example.expression()) || example.inputs() == null || example.inputs().isEmpty()) {
+                return Optional.empty();
+            }
+            return Optional.of(new EmailGenerationRequest(example.expression(), example.inputs()));
+        } catch (IOException e) {
+            log.warn("Skipping unreadable warm-up example {}: {}", file, e.getMessage());
+            return Optional.empty();
+        }
+    }
+}
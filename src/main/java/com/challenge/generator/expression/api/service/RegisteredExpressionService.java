@@ -0,0 +1,151 @@
+package com.challenge.generator.expression.api.service;
+
+import com.challenge.generator.expression.api.dto.ExpressionRegistrationResponse;
+import com.challenge.generator.expression.api.exception.NotFoundException;
+import com.challenge.generator.expression.api.exception.ValidationException;
+import com.challenge.generator.expression.api.exception.ValidationMessages;
+import com.challenge.generator.expression.engine.core.ExpressionEvaluator;
+import com.challenge.generator.expression.engine.plan.BoundPlan;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps expressions that were registered once and are then executed by id. Each expression is
+ * preprocessed and compiled at registration, so executing it skips decoding, preprocessing,
+ * tokenizing and parsing. Ids are derived from the preprocessed text, which makes registration
+ * idempotent and keeps ids stable across restarts. Registrations are persisted to a JSON file
+ * and recompiled at startup. At most {@code expression.registry.max-size} expressions are kept;
+ * registering a new one beyond that is rejected.
+ */
+@Component
+@Slf4j
+public class RegisteredExpressionService {
+
+    private static final int ID_LENGTH = 16;
+    private static final TypeReference<LinkedHashMap<String, String>> STORE_TYPE = new TypeReference<>() {
+    };
+
+    private record RegisteredExpression(String expression, BoundPlan plan) {
+    }
+
+    private final ExpressionEvaluator expressionEvaluator;
+    private final ExpressionPreprocessor expressionPreprocessor;
+    private final ObjectMapper objectMapper;
+    private final Path storePath;
+    private final int maxSize;
+    private final Map<String, RegisteredExpression> expressions = new ConcurrentHashMap<>();
+
+    public RegisteredExpressionService(ExpressionEvaluator expressionEvaluator,
+                                       ExpressionPreprocessor expressionPreprocessor,
+                                       ObjectMapper objectMapper,
+                                       @Value("${expression.registry.path:data/registered-expressions.json}") String storePath,
+                                       @Value("${expression.registry.max-size:1000}") int maxSize) {
+        this.expressionEvaluator = expressionEvaluator;
+        this.expressionPreprocessor = expressionPreprocessor;
+        this.objectMapper = objectMapper;
+        this.storePath = Path.of(storePath);
+        this.maxSize = maxSize;
+        load();
+    }
+
+    public ExpressionRegistrationResponse register(String rawExpression) {
+        var expression = expressionPreprocessor.preprocess(rawExpression);
+        var id = idFor(expression);
+        if (!expressions.containsKey(id)) {
+            var plan = expressionEvaluator.compile(expression);
+            synchronized (this) {
+                if (!expressions.containsKey(id)) {
+                    if (expressions.size() >= maxSize) {
+                        throw new ValidationException(String.format(ValidationMessages.EXPRESSION_REGISTRY_FULL, maxSize));
+                    }
+                    // Only publish what was saved, so a failed write leaves no expression that is lost on restart.
+                    var snapshot = snapshot();
+                    snapshot.put(id, expression);
+                    persist(snapshot);
+                    expressions.put(id, new RegisteredExpression(expression, plan));
+                }
+            }
+            log.info("Registered expression '{}' with id {}", expression, id);
+        }
+        return new ExpressionRegistrationResponse(id, expression);
+    }
+
+    /**
+     * Returns the compiled plan of a registered expression.
+     */
+    public BoundPlan plan(String id) {
+        var registered = expressions.get(id);
+        if (registered == null) {
+            throw new NotFoundException(String.format(ValidationMessages.UNKNOWN_EXPRESSION_ID, id));
+        }
+        return registered.plan();
+    }
+
+    private void load() {
+        if (!Files.exists(storePath)) {
+            return;
+        }
+        try {
+            Map<String, String> stored = objectMapper.readValue(storePath.toFile(), STORE_TYPE);
+            stored.forEach(this::restore);
+            log.info("Loaded {} registered expression(s) from {}", expressions.size(), storePath);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read registered expressions from " + storePath, e);
+        }
+    }
+
+    private void restore(String id, String expression) {
+        if (expressions.size() >= maxSize) {
+            log.warn("Skipping registered expression {}: the registry is limited to {} expressions", id, maxSize);
+            return;
+        }
+        try {
+            expressions.put(id, new RegisteredExpression(expression, expressionEvaluator.compile(expression)));
+        } catch (RuntimeException e) {
+            log.warn("Skipping registered expression {} that no longer compiles: {}", id, e.getMessage());
+        }
+    }
+
+    private Map<String, String> snapshot() {
+        var snapshot = new LinkedHashMap<String, String>();
+        expressions.forEach((id, registered) -> snapshot.put(id, registered.expression()));
+        return snapshot;
+    }
+
+    private void persist(Map<String, String> snapshot) {
+        try {
+            var parent = storePath.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            var tempFile = Files.createTempFile(parent, "registered-expressions", ".tmp");
+            objectMapper.writeValue(tempFile.toFile(), snapshot);
+            Files.move(tempFile, storePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not persist registered expressions to " + storePath, e);
+        }
+    }
+
+    private static String idFor(String expression) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256").digest(expression.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest).substring(0, ID_LENGTH);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.challenge.generator.expression.engine.core;
+
+import com.challenge.generator.expression.engine.plan.CompiledPlan;
+
+import java.util.List;
+
+/**
+ * Fans every callback out to several listeners, in order.
+ */
+record CompositeEvaluationListener(List<EvaluationListener> listeners) implements EvaluationListener {
+
+    @Override
+    public void onPhase(EvaluationPhase phase, long nanos) {
+        for (EvaluationListener listener : listeners) {
+            listener.onPhase(phase, nanos);
+        }
+    }
+
+    @Override
+    public void onFunction(String name, long nanos) {
+        for (EvaluationListener listener : listeners) {
+            listener.onFunction(name, nanos);
+        }
+    }
+
+    @Override
+    public void onResultCount(int count) {
+        for (EvaluationListener listener : listeners) {
+            listener.onResultCount(count);
+        }
+    }
+
+    @Override
+    public void onEvaluation(CompiledPlan plan, long nanos, int resultCount) {
+        for (EvaluationListener listener : listeners) {
+            listener.onEvaluation(plan, nanos, resultCount);
+        }
+    }
+
+    @Override
+    public void onResponseSize(long bytes) {
+        for (EvaluationListener listener : listeners) {
+            listener.onResponseSize(bytes);
+        }
+    }
+
+    @Override
+    public void onResponseComplete() {
+        for (EvaluationListener listener : listeners) {
+            listener.onResponseComplete();
+        }
+    }
+}
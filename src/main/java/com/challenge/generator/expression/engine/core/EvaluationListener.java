@@ -0,0 +1,49 @@
+package com.challenge.generator.expression.engine.core;
+
+import com.challenge.generator.expression.engine.plan.CompiledPlan;
+
+import java.util.List;
+
+/**
+ * Receives timings and sizes from the evaluation pipeline. Listeners are called on request
+ * threads, once per phase and once per function call, so implementations must be thread-safe
+ * and cheap. Function timings include the evaluation of the function's arguments.
+ */
+public interface EvaluationListener {
+
+    EvaluationListener NOOP = new EvaluationListener() {
+    };
+
+    default void onPhase(EvaluationPhase phase, long nanos) {
+    }
+
+    default void onFunction(String name, long nanos) {
+    }
+
+    default void onResultCount(int count) {
+    }
+
+    /**
+     * Called once per evaluated plan, after {@link #onResultCount}, with the evaluation time.
+     */
+    default void onEvaluation(CompiledPlan plan, long nanos, int resultCount) {
+    }
+
+    default void onResponseSize(long bytes) {
+    }
+
+    /**
+     * Called once the request's response was written or failed to be written, or once a streamed response
+     * was handed over, on the request thread. Per-request thread state should be released here.
+     */
+    default void onResponseComplete() {
+    }
+
+    static EvaluationListener of(List<EvaluationListener> listeners) {
+        return switch (listeners.size()) {
+            case 0 -> NOOP;
+            case 1 -> listeners.getFirst();
+            default -> new CompositeEvaluationListener(List.copyOf(listeners));
+        };
+    }
+}
@@ -0,0 +1,22 @@
+package com.challenge.generator.expression.engine.core;
+
+import lombok.Getter;
+
+/**
+ * Stages a request passes through, in order. Preprocessing and serialization happen in the web
+ * layer; tokenizing and parsing happen when a plan is prepared (parsing only on a plan cache miss).
+ */
+@Getter
+public enum EvaluationPhase {
+    PREPROCESS("preprocess"),
+    TOKENIZE("tokenize"),
+    PARSE("parse"),
+    EVALUATE("evaluate"),
+    SERIALIZE("serialize");
+
+    private final String label;
+
+    EvaluationPhase(String label) {
+        this.label = label;
+    }
+}
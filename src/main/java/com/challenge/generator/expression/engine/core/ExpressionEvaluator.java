@@ -1,28 +1,198 @@
 package com.challenge.generator.expression.engine.core;
 
 import com.challenge.generator.expression.api.dto.EmailGenerationRequest;
+import com.challenge.generator.expression.engine.jfr.ExpressionEvents;
+import com.challenge.generator.expression.engine.model.CancellationToken;
+import com.challenge.generator.expression.engine.model.DataType;
 import com.challenge.generator.expression.engine.model.EvaluationContext;
+import com.challenge.generator.expression.engine.model.profile.EvaluationProfile;
+import com.challenge.generator.expression.engine.model.result.BooleanValue;
+import com.challenge.generator.expression.engine.model.result.EvalResult;
+import com.challenge.generator.expression.engine.model.result.NumberValue;
+import com.challenge.generator.expression.engine.model.trace.EvaluationTrace;
 import com.challenge.generator.expression.engine.parser.ExpressionParser;
 import com.challenge.generator.expression.engine.parser.grammar.Grammar;
 import com.challenge.generator.expression.engine.parser.Tokenizer;
+import com.challenge.generator.expression.engine.parser.ast.LiteralNode;
+import com.challenge.generator.expression.engine.plan.BoundPlan;
+import com.challenge.generator.expression.engine.plan.ExplainNode;
+import com.challenge.generator.expression.engine.plan.ExpressionExplanation;
+import com.challenge.generator.expression.engine.plan.ExpressionShape;
+import com.challenge.generator.expression.engine.plan.PlanCompiler;
+import com.challenge.generator.expression.engine.plan.PlanExplainer;
+import com.challenge.generator.expression.engine.plan.PreparedExpression;
 import lombok.extern.slf4j.Slf4j;
 
+import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Parses expressions and evaluates them against input data to produce a list of emails. This class is
- * created as a bean in the configuration.
+ * created as a bean in the configuration. Parsed expressions are served from the plan cache, with the
+ * request's literals bound to the plan's parameter slots.
  */
 @Slf4j
-public record ExpressionEvaluator(ExpressionParser parser, ExpressionInterpreter interpreter) {
+public record ExpressionEvaluator(ExpressionParser parser, ExpressionInterpreter interpreter, ExpressionPlanCache planCache,
+                                  EvaluationListener listener) {
 
     public ExpressionEvaluator(Grammar grammar, FunctionRegistry registry, Tokenizer tokenizer) {
-        this(new ExpressionParser(tokenizer, grammar), new ExpressionInterpreter(registry));
+        this(grammar, registry, tokenizer, ExpressionPlanCache.DEFAULT_MAX_SIZE);
+    }
+
+    public ExpressionEvaluator(Grammar grammar, FunctionRegistry registry, Tokenizer tokenizer, int planCacheMaxSize) {
+        this(grammar, registry, tokenizer, planCacheMaxSize, EvaluationListener.NOOP);
+    }
+
+    public ExpressionEvaluator(Grammar grammar, FunctionRegistry registry, Tokenizer tokenizer, int planCacheMaxSize,
+                               EvaluationListener listener) {
+        this(new ExpressionParser(tokenizer, grammar), registry, planCacheMaxSize, listener);
+    }
+
+    private ExpressionEvaluator(ExpressionParser parser, FunctionRegistry registry, int planCacheMaxSize, EvaluationListener listener) {
+        this(parser, new ExpressionInterpreter(registry, listener), new ExpressionPlanCache(parser, registry, planCacheMaxSize, listener), listener);
+    }
+
+    /**
+     * Returns an evaluator over the same plans and plan cache that reports nothing to the listener, e.g. for
+     * warm-up traffic that should not show up in request metrics or expression statistics.
+     */
+    public ExpressionEvaluator uninstrumented() {
+        return new ExpressionEvaluator(parser, new ExpressionInterpreter(interpreter.functionRegistry()), planCache,
+                EvaluationListener.NOOP);
     }
 
     public List<String> generateResults(EmailGenerationRequest request) {
+        return generateResults(request, CancellationToken.NONE);
+    }
+
+    public List<String> generateResults(EmailGenerationRequest request, CancellationToken cancellation) {
         log.atDebug().log("Evaluating expression: '{}' with inputs: {}", request.expression(), request.input().keySet());
-        var abstractSyntaxTree = parser.parse(request.expression());
-        return interpreter.evaluate(abstractSyntaxTree, EvaluationContext.from(request.input())).asList();
+        return execute(compile(request.expression()), request.input(), cancellation);
+    }
+
+    /**
+     * Resolves the expression's plan from the cache and binds its literals, without evaluating it.
+     */
+    public BoundPlan compile(String expression) {
+        var prepared = planCache.prepare(expression, listener);
+        return new BoundPlan(prepared.plan(), bind(prepared));
+    }
+
+    public List<String> execute(BoundPlan plan, Map<String, Object> input) {
+        return execute(plan, input, CancellationToken.NONE);
+    }
+
+    /**
+     * Evaluates the plan. Every result is built before this returns, so the evaluation's timings cover
+     * generating the rows; {@code cancellation} is checked while they are built.
+     */
+    public List<String> execute(BoundPlan plan, Map<String, Object> input, CancellationToken cancellation) {
+        return evaluate(plan, EvaluationContext.from(input, plan.parameters(), cancellation));
+    }
+
+    /**
+     * Evaluates the plan for a streamed response. List results may be built lazily as they are read, so
+     * the evaluation's timings only cover setting them up and the caller accounts for reading them;
+     * {@code cancellation} is checked during evaluation and while they are read.
+     */
+    public List<String> stream(BoundPlan plan, Map<String, Object> input, CancellationToken cancellation) {
+        return evaluate(plan, EvaluationContext.streaming(input, plan.parameters(), cancellation));
+    }
+
+    private List<String> evaluate(BoundPlan plan, EvaluationContext context) {
+        var event = ExpressionEvents.beginEvaluate(plan.fingerprint());
+        long start = System.nanoTime();
+        var results = interpreter.evaluate(plan.root(), context).asList();
+        long elapsed = System.nanoTime() - start;
+        listener.onPhase(EvaluationPhase.EVALUATE, elapsed);
+        listener.onResultCount(results.size());
+        listener.onEvaluation(plan.plan(), elapsed, results.size());
+        event.complete(plan.fingerprint(), results.size());
+        return results;
+    }
+
+    /**
+     * Evaluates the plan with a {@link ProfilingInterpreter} and returns the results together with the
+     * annotated plan. Profiled evaluations are not reported to the listener.
+     */
+    public EvaluationProfile profile(BoundPlan plan, Map<String, Object> input) {
+        return profile(plan, input, CancellationToken.NONE);
+    }
+
+    public EvaluationProfile profile(BoundPlan plan, Map<String, Object> input, CancellationToken cancellation) {
+        var profiler = interpreter.profiling();
+        var results = profiler.evaluate(plan.root(), EvaluationContext.from(input, plan.parameters(), cancellation)).asList();
+        return new EvaluationProfile(results, profiler.profile(plan.root(), plan.parameters()));
+    }
+
+    /**
+     * Evaluates the plan with a {@link TracingInterpreter} and returns the results together with the
+     * recorded steps. Traced evaluations are not reported to the listener.
+     */
+    public EvaluationTrace trace(BoundPlan plan, Map<String, Object> input) {
+        return trace(plan, input, CancellationToken.NONE);
+    }
+
+    public EvaluationTrace trace(BoundPlan plan, Map<String, Object> input, CancellationToken cancellation) {
+        var tracer = interpreter.tracing();
+        var results = tracer.evaluate(plan.root(), EvaluationContext.from(input, plan.parameters(), cancellation)).asList();
+        return new EvaluationTrace(results, tracer.trace());
+    }
+
+    /**
+     * Tokenizes, parses and compiles the expression without evaluating it or touching the plan cache,
+     * and returns the AST and plan annotated with static types and estimates.
+     */
+    public ExpressionExplanation explain(String expression, long assumedListSize) {
+        var shape = ExpressionShape.of(parser.tokenizer().tokenize(expression));
+        var ast = parser.parse(shape.tokens());
+        var registry = interpreter.functionRegistry();
+        var compiler = new PlanCompiler(shape.literals(), name -> registry.get(name).isPresent());
+        var template = compiler.compile(ast);
+        boolean parameterized = compiler.isFunctionsResolved() && compiler.isFullyBound();
+        var literals = shape.literals().stream()
+                .map(token -> (LiteralNode) parser.parseLiteral(token))
+                .toList();
+        var explainer = new PlanExplainer(registry::get, literals, assumedListSize);
+        var explainedAst = explainer.explain(ast);
+        var explainedPlan = parameterized ? explainer.explain(template) : explainedAst;
+        return new ExpressionExplanation(expression, explainedAst, explainedPlan, parameterized,
+                parameterized ? literals.stream().map(literal -> String.valueOf(literal.value())).toList() : List.of(),
+                explainedPlan.estimatedRows(), explainedPlan.estimatedCost());
+    }
+
+    /**
+     * Estimates the plan's rows and cost for one execution without evaluating it. Lists derived from an
+     * input are sized by {@code inputListSize}, other input-dependent lists by {@code assumedListSize}.
+     */
+    public ExplainNode estimate(BoundPlan plan, long assumedListSize, PlanExplainer.InputListSize inputListSize) {
+        var registry = interpreter.functionRegistry();
+        var literals = plan.parameters().stream()
+                .map(ExpressionEvaluator::literal)
+                .toList();
+        return new PlanExplainer(registry::get, literals, assumedListSize, inputListSize).explain(plan.root());
+    }
+
+    /**
+     * The literal a bound parameter was parsed from: numbers keep their {@link BigDecimal} value and are
+     * typed by their scale, the way the parser types integer and decimal literals.
+     */
+    private static LiteralNode literal(EvalResult value) {
+        return switch (value) {
+            case NumberValue(BigDecimal number) ->
+                    new LiteralNode(number, number.scale() > 0 ? DataType.DECIMAL : DataType.INTEGER, 0);
+            case BooleanValue(boolean bool) -> new LiteralNode(bool, DataType.BOOLEAN, 0);
+            default -> new LiteralNode(value.firstOrNull(), value.dataType(), 0);
+        };
+    }
+
+    private List<EvalResult> bind(PreparedExpression prepared) {
+        if (prepared.parameters().isEmpty()) {
+            return List.of();
+        }
+        return prepared.parameters().stream()
+                .map(token -> parser.parseLiteral(token).accept(interpreter))
+                .toList();
     }
 }
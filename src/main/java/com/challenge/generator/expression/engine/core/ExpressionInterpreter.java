@@ -2,11 +2,11 @@ package com.challenge.generator.expression.engine.core;
 
 import com.challenge.generator.expression.engine.exception.InvalidConditionTypeException;
 import com.challenge.generator.expression.engine.exception.UnknownFunctionException;
+import com.challenge.generator.expression.engine.jfr.FunctionInvocationEvent;
 import com.challenge.generator.expression.engine.model.EvaluationContext;
 import com.challenge.generator.expression.engine.model.result.*;
 import com.challenge.generator.expression.engine.parser.ast.*;
 import com.challenge.generator.expression.engine.parser.token.Operator;
-import lombok.extern.slf4j.Slf4j;
 
 import java.math.BigDecimal;
 import java.math.MathContext;
@@ -15,23 +15,44 @@ import java.util.List;
 /**
  * Walks the AST (ExpressionNode) and evaluates it to an EvalResult.
  */
-@Slf4j
 public class ExpressionInterpreter implements NodeVisitor<EvalResult> {
 
     private final FunctionRegistry functionRegistry;
+    private final EvaluationListener listener;
 
     public ExpressionInterpreter(FunctionRegistry functionRegistry) {
+        this(functionRegistry, EvaluationListener.NOOP);
+    }
+
+    public ExpressionInterpreter(FunctionRegistry functionRegistry, EvaluationListener listener) {
         this.functionRegistry = functionRegistry;
+        this.listener = listener;
     }
 
     private final ThreadLocal<EvaluationContext> currentContext = new ThreadLocal<>();
 
+    /**
+     * Returns a fresh instrumented interpreter over the same functions, for one profiled evaluation.
+     */
+    public ProfilingInterpreter profiling() {
+        return new ProfilingInterpreter(functionRegistry);
+    }
+
+    /**
+     * Returns a fresh instrumented interpreter over the same functions, for one traced evaluation.
+     */
+    public TracingInterpreter tracing() {
+        return new TracingInterpreter(functionRegistry, TracingInterpreter.DEFAULT_MAX_STEPS);
+    }
+
+    FunctionRegistry functionRegistry() {
+        return functionRegistry;
+    }
+
     public EvalResult evaluate(ExpressionNode node, EvaluationContext inputs) {
         currentContext.set(inputs);
         try {
-            var result = node.accept(this);
-            log.atDebug().log("evaluate end: node={}, resultType={}", node.getClass().getSimpleName(), result.getClass().getSimpleName());
-            return result;
+            return node.accept(this);
         } finally {
             currentContext.remove();
         }
@@ -39,28 +60,27 @@ public class ExpressionInterpreter implements NodeVisitor<EvalResult> {
 
     @Override
     public EvalResult visit(LiteralNode lit) {
-        var result = switch (lit.type()) {
+        return switch (lit.type()) {
             case STRING -> new StringValue((String) lit.value());
             case INTEGER, DECIMAL -> new NumberValue((BigDecimal) lit.value());
             default -> new StringValue(lit.value() == null ? null : lit.value().toString());
         };
-        log.atDebug().log("literal evaluated: resultType={}", result.getClass().getSimpleName());
-        return result;
     }
 
     @Override
     public EvalResult visit(IdentifierNode id) {
         Object raw = currentContext.get().data().get(id.name());
-        var result = toValueFromIdentifier(raw);
-        log.atDebug().log("identifier resolved: name={}, rawType={}, resultType={}", id.name(), raw == null ? "null" : raw.getClass().getSimpleName(), result.getClass().getSimpleName());
-        return result;
+        return toValueFromIdentifier(raw);
     }
 
     @Override
     public EvalResult visit(MapLiteralNode map) {
-        var result = new MapValue(map.entries());
-        log.atDebug().log("map literal evaluated: entries={}", map.entries().size());
-        return result;
+        return new MapValue(map.entries());
+    }
+
+    @Override
+    public EvalResult visit(ParameterNode param) {
+        return currentContext.get().parameters().get(param.slot());
     }
 
     @Override
@@ -82,15 +102,21 @@ public class ExpressionInterpreter implements NodeVisitor<EvalResult> {
         String name = call.name();
         int position = call.position();
         List<ExpressionNode> arguments = call.arguments();
-        log.atDebug().log("function call: name={}, argCount={}", name, arguments.size());
         var provider = functionRegistry.get(name)
                 .orElseThrow(() -> new UnknownFunctionException(name, position));
         var args = arguments.stream()
                 .map(arg -> (ExecutableExpressionNode) in -> evaluate(arg, in))
                 .toList();
         var exec = provider.create(args);
+        inputs.cancellation().throwIfCancelled();
+        var event = new FunctionInvocationEvent();
+        event.begin();
+        long start = System.nanoTime();
         var out = exec.evaluate(inputs);
-        log.atDebug().log("function result: name={}, resultType={}", name, out.getClass().getSimpleName());
+        listener.onFunction(provider.getFunctionName(), System.nanoTime() - start);
+        if (event.isEnabled()) {
+            event.complete(provider.getFunctionName(), out.asList().size());
+        }
         return out;
     }
 
@@ -107,7 +133,6 @@ public class ExpressionInterpreter implements NodeVisitor<EvalResult> {
         var leftResult = evaluate(node.left(), inputs);
         var rightResult = evaluate(node.right(), inputs);
         var op = Operator.fromSymbol(node.operator());
-        log.atDebug().log("binary eval: op={}, leftType={}, rightType={}", op, leftResult.getClass().getSimpleName(), rightResult.getClass().getSimpleName());
         if (op == Operator.CONCATENATE) {
             return handleConcatenation(leftResult, rightResult);
         }
@@ -144,25 +169,19 @@ public class ExpressionInterpreter implements NodeVisitor<EvalResult> {
     }
 
     private EvalResult handleConcatenation(EvalResult leftResult, EvalResult rightResult) {
-        log.atDebug().log("concat operands: leftType={}, rightType={}", leftResult.getClass().getSimpleName(), rightResult.getClass().getSimpleName());
         if (leftResult instanceof EmptyValue || rightResult instanceof EmptyValue) {
-            log.atDebug().log("concat short-circuit: EMPTY operand");
             return EvalResult.EMPTY;
         }
         boolean involvesList = (leftResult instanceof MultiValue) || (rightResult instanceof MultiValue);
         if (involvesList && (leftResult.asList().isEmpty() || rightResult.asList().isEmpty())) {
-            log.atDebug().log("concat short-circuit: empty list operand");
             return EvalResult.EMPTY;
         }
-        var res = new StringValue(safeFirst(leftResult) + safeFirst(rightResult));
-        log.atDebug().log("concat result: {}", res.firstOrNull());
-        return res;
+        return new StringValue(safeFirst(leftResult) + safeFirst(rightResult));
     }
 
     private EvalResult performArithmetic(Operator op, NumberValue leftNum, NumberValue rightNum) {
         BigDecimal l = leftNum.value();
         BigDecimal r = rightNum.value();
-        log.atDebug().log("arithmetic: op={}, left={}, right={}", op, l, r);
         return switch (op) {
             case PLUS -> new NumberValue(l.add(r));
             case MINUS -> new NumberValue(l.subtract(r));
@@ -193,21 +212,18 @@ public class ExpressionInterpreter implements NodeVisitor<EvalResult> {
     }
 
     private EvalResult evaluateComparison(Operator op, EvalResult leftResult, EvalResult rightResult) {
-        log.atDebug().log("comparison eval: op={}, leftType={}, rightType={}", op, leftResult.getClass().getSimpleName(), rightResult.getClass().getSimpleName());
         if (leftResult.asList().isEmpty() || rightResult.asList().isEmpty()) {
             var result = switch (op) {
                 case EQUALS -> leftResult.asList().isEmpty() && rightResult.asList().isEmpty();
                 case NOT_EQUALS -> !(leftResult.asList().isEmpty() && rightResult.asList().isEmpty());
                 default -> false;
             };
-            log.atDebug().log("comparison on empties result: {}", result);
             return new BooleanValue(result);
         }
         var lnCoerced = coerceToNumber(leftResult);
         var rnCoerced = coerceToNumber(rightResult);
         if (lnCoerced != null && rnCoerced != null) {
             boolean res = comparisonResult(op, lnCoerced, rnCoerced);
-            log.atDebug().log("numeric comparison result: {} vs {} -> {}", lnCoerced.value(), rnCoerced.value(), res);
             return new BooleanValue(res);
         }
         if (leftResult instanceof BooleanValue(boolean value) && rightResult instanceof BooleanValue(boolean value1)) {
@@ -217,7 +233,6 @@ public class ExpressionInterpreter implements NodeVisitor<EvalResult> {
                 default ->
                         throw new UnsupportedOperationException("Unsupported comparison operator for booleans: " + op);
             };
-            log.atDebug().log("boolean comparison result: {} vs {} -> {}", value, value1, res);
             return new BooleanValue(res);
         }
         String leftStr = leftResult.firstOrNull();
@@ -233,7 +248,6 @@ public class ExpressionInterpreter implements NodeVisitor<EvalResult> {
             case NOT_EQUALS -> !left.equals(right);
             default -> throw new UnsupportedOperationException("Unsupported comparison operator: " + op);
         };
-        log.atDebug().log("string comparison result: '{}' vs '{}' -> {}", left, right, res);
         return new BooleanValue(res);
     }
 
@@ -256,9 +270,7 @@ public class ExpressionInterpreter implements NodeVisitor<EvalResult> {
         if (s == null) return null;
         if (com.challenge.generator.expression.engine.model.TypeUtils.isInteger(s) ||
                 com.challenge.generator.expression.engine.model.TypeUtils.isDecimal(s)) {
-            var n = new NumberValue(new java.math.BigDecimal(s));
-            log.atDebug().log("coerced to number: {}", n.value());
-            return n;
+            return new NumberValue(new java.math.BigDecimal(s));
         }
         return null;
     }
@@ -0,0 +1,186 @@
+package com.challenge.generator.expression.engine.core;
+
+import com.challenge.generator.expression.engine.jfr.ExpressionCompileEvent;
+import com.challenge.generator.expression.engine.jfr.ExpressionParseEvent;
+import com.challenge.generator.expression.engine.parser.ExpressionParser;
+import com.challenge.generator.expression.engine.plan.CompiledPlan;
+import com.challenge.generator.expression.engine.plan.ExpressionShape;
+import com.challenge.generator.expression.engine.plan.PlanCompiler;
+import com.challenge.generator.expression.engine.plan.PreparedExpression;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache of compiled plans keyed by expression shape. Literals are normalized into
+ * parameter slots, so expressions that differ only in their literal values share one plan and
+ * bind their own literals at execution time. Expressions whose literals cannot all be lifted
+ * (map literal values) are cached by their exact text instead.
+ * <p>
+ * When the cache is full, the least recently used plan is evicted. Lookups only stamp the entry
+ * they hit, so hits stay lock-free; the scan for the eldest entry only happens on a miss.
+ */
+@Slf4j
+public class ExpressionPlanCache {
+
+    public static final int DEFAULT_MAX_SIZE = 1000;
+
+    private final ExpressionParser parser;
+    private final FunctionRegistry functionRegistry;
+    private final int maxSize;
+    private final EvaluationListener listener;
+    private final Map<String, Entry> plans = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public ExpressionPlanCache(ExpressionParser parser, FunctionRegistry functionRegistry, int maxSize) {
+        this(parser, functionRegistry, maxSize, EvaluationListener.NOOP);
+    }
+
+    public ExpressionPlanCache(ExpressionParser parser, FunctionRegistry functionRegistry, int maxSize, EvaluationListener listener) {
+        this.parser = parser;
+        this.functionRegistry = functionRegistry;
+        this.maxSize = maxSize;
+        this.listener = listener;
+    }
+
+    public PreparedExpression prepare(String expression) {
+        return prepare(expression, listener);
+    }
+
+    /**
+     * Same as {@link #prepare(String)}, but reports tokenize and parse timings to {@code listener}.
+     */
+    public PreparedExpression prepare(String expression, EvaluationListener listener) {
+        var event = new ExpressionCompileEvent();
+        event.begin();
+        long start = System.nanoTime();
+        var tokens = parser.tokenizer().tokenize(expression);
+        listener.onPhase(EvaluationPhase.TOKENIZE, System.nanoTime() - start);
+        var shape = ExpressionShape.of(tokens);
+        var plan = lookup(shape.key());
+        if (plan == null) {
+            plan = lookup(shape.exactKey());
+        }
+        boolean cacheHit = plan != null;
+        if (cacheHit) {
+            hits.increment();
+        } else {
+            misses.increment();
+            plan = compile(shape, listener);
+        }
+        event.complete(plan.fingerprint(), cacheHit, plan.parameterized());
+        return PreparedExpression.of(plan, shape);
+    }
+
+    private CompiledPlan lookup(String key) {
+        var entry = plans.get(key);
+        if (entry == null) {
+            return null;
+        }
+        entry.touch();
+        return entry.plan;
+    }
+
+    private CompiledPlan compile(ExpressionShape shape, EvaluationListener listener) {
+        var event = new ExpressionParseEvent();
+        event.begin();
+        long start = System.nanoTime();
+        var ast = parser.parse(shape.tokens());
+        listener.onPhase(EvaluationPhase.PARSE, System.nanoTime() - start);
+        if (event.isEnabled()) {
+            event.complete(shape.fingerprint(), shape.tokens().size());
+        }
+        var compiler = new PlanCompiler(shape.literals(), name -> functionRegistry.get(name).isPresent());
+        var template = compiler.compile(ast);
+
+        if (!compiler.isFunctionsResolved()) {
+            return new CompiledPlan(shape.exactKey(), ast, false);
+        }
+        var plan = compiler.isFullyBound()
+                ? new CompiledPlan(shape.key(), template, true)
+                : new CompiledPlan(shape.exactKey(), ast, false);
+        store(plan);
+        log.atDebug().log("compiled plan: parameterized={}, slots={}, cached={}", plan.parameterized(), shape.literals().size(), plans.size());
+        return plan;
+    }
+
+    private void store(CompiledPlan plan) {
+        if (maxSize <= 0) {
+            return;
+        }
+        if (plans.size() >= maxSize && !plans.containsKey(plan.key())) {
+            evictLeastRecentlyUsed();
+        }
+        plans.putIfAbsent(plan.key(), new Entry(plan));
+    }
+
+    private void evictLeastRecentlyUsed() {
+        Map.Entry<String, Entry> eldest = null;
+        for (var candidate : plans.entrySet()) {
+            if (eldest == null || candidate.getValue().lastAccess < eldest.getValue().lastAccess) {
+                eldest = candidate;
+            }
+        }
+        if (eldest != null) {
+            plans.remove(eldest.getKey(), eldest.getValue());
+        }
+    }
+
+    /**
+     * Returns the currently cached plans, e.g. for writing a snapshot.
+     */
+    public List<CompiledPlan> snapshot() {
+        return plans.values().stream().map(entry -> entry.plan).toList();
+    }
+
+    /**
+     * Seeds the cache with previously compiled plans. Plans that call functions which are no longer
+     * registered are dropped. Returns the number of plans that were added.
+     */
+    public int preload(Collection<CompiledPlan> compiledPlans) {
+        int loaded = 0;
+        for (CompiledPlan plan : compiledPlans) {
+            var check = new PlanCompiler(List.of(), name -> functionRegistry.get(name).isPresent());
+            check.compile(plan.root());
+            if (check.isFunctionsResolved() && (maxSize <= 0 || plans.size() < maxSize)
+                    && plans.putIfAbsent(plan.key(), new Entry(plan)) == null) {
+                loaded++;
+            }
+        }
+        return loaded;
+    }
+
+    public int size() {
+        return plans.size();
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public void clear() {
+        plans.clear();
+    }
+
+    private static final class Entry {
+        private final CompiledPlan plan;
+        private volatile long lastAccess = System.nanoTime();
+
+        private Entry(CompiledPlan plan) {
+            this.plan = plan;
+        }
+
+        private void touch() {
+            lastAccess = System.nanoTime();
+        }
+    }
+}
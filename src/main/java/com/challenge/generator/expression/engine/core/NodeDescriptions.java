@@ -0,0 +1,46 @@
+package com.challenge.generator.expression.engine.core;
+
+import com.challenge.generator.expression.engine.model.result.EvalResult;
+import com.challenge.generator.expression.engine.parser.ast.*;
+
+import java.util.List;
+
+/**
+ * Short kind and label of AST nodes, shared by the instrumented interpreters.
+ */
+final class NodeDescriptions {
+
+    private NodeDescriptions() {
+    }
+
+    static String kind(ExpressionNode node) {
+        return switch (node) {
+            case LiteralNode ignored -> "literal";
+            case ParameterNode ignored -> "parameter";
+            case IdentifierNode ignored -> "identifier";
+            case MapLiteralNode ignored -> "map";
+            case BinaryOpNode ignored -> "binary";
+            case FunctionCall ignored -> "function";
+            case ConditionalNode ignored -> "conditional";
+            default -> node.getClass().getSimpleName();
+        };
+    }
+
+    /**
+     * {@code parameters} are the values bound to the plan's parameter slots, shown in place of the slot.
+     */
+    static String label(ExpressionNode node, List<EvalResult> parameters) {
+        return switch (node) {
+            case LiteralNode lit -> String.valueOf(lit.value());
+            case ParameterNode param -> param.slot() < parameters.size()
+                    ? String.valueOf(parameters.get(param.slot()).firstOrNull())
+                    : "$" + param.slot();
+            case IdentifierNode id -> id.name();
+            case MapLiteralNode map -> map.entries().size() + " entries";
+            case BinaryOpNode bin -> bin.operator();
+            case FunctionCall call -> call.name();
+            case ConditionalNode ignored -> "?:";
+            default -> "";
+        };
+    }
+}
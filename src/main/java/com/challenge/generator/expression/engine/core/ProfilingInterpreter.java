@@ -0,0 +1,91 @@
+package com.challenge.generator.expression.engine.core;
+
+import com.challenge.generator.expression.engine.model.EvaluationContext;
+import com.challenge.generator.expression.engine.model.profile.ProfileNode;
+import com.challenge.generator.expression.engine.model.result.EvalResult;
+import com.challenge.generator.expression.engine.parser.ast.*;
+
+import java.lang.management.ManagementFactory;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Instrumented variant of {@link ExpressionInterpreter} that records wall time, invocations, output
+ * cardinality and allocated bytes for every node it evaluates. Every operand goes through
+ * {@link #evaluate}, including function arguments evaluated lazily by providers, so overriding it
+ * is enough to see the whole tree while the regular interpreter stays untouched.
+ * <p>
+ * Instances collect state for a single evaluation and are not thread-safe; create one per profile.
+ */
+public class ProfilingInterpreter extends ExpressionInterpreter {
+
+    private static final com.sun.management.ThreadMXBean THREADS = threads();
+
+    private final Map<ExpressionNode, NodeStats> stats = new IdentityHashMap<>();
+
+    ProfilingInterpreter(FunctionRegistry functionRegistry) {
+        super(functionRegistry);
+    }
+
+    @Override
+    public EvalResult evaluate(ExpressionNode node, EvaluationContext inputs) {
+        long bytesBefore = allocatedBytes();
+        long start = System.nanoTime();
+        var result = super.evaluate(node, inputs);
+        long elapsed = System.nanoTime() - start;
+        long bytes = bytesBefore < 0 ? -1 : allocatedBytes() - bytesBefore;
+        stats.computeIfAbsent(node, n -> new NodeStats()).record(elapsed, bytes, result.asList().size());
+        return result;
+    }
+
+    /**
+     * Builds the annotated tree for {@code root} from what was recorded so far. {@code parameters}
+     * are the values bound to the plan's parameter slots and are only used for labels.
+     */
+    public ProfileNode profile(ExpressionNode root, List<EvalResult> parameters) {
+        var children = operands(root).stream()
+                .map(child -> profile(child, parameters))
+                .toList();
+        var nodeStats = stats.getOrDefault(root, new NodeStats());
+        long childNanos = children.stream().mapToLong(ProfileNode::wallNanos).sum();
+        return new ProfileNode(NodeDescriptions.kind(root), NodeDescriptions.label(root, parameters), nodeStats.invocations, nodeStats.rows,
+                nodeStats.wallNanos, Math.max(0, nodeStats.wallNanos - childNanos),
+                nodeStats.allocatedBytes, children);
+    }
+
+    private static List<ExpressionNode> operands(ExpressionNode node) {
+        return switch (node) {
+            case BinaryOpNode bin -> List.of(bin.left(), bin.right());
+            case FunctionCall call -> call.arguments();
+            case ConditionalNode cond -> List.of(cond.condition(), cond.thenBranch(), cond.elseBranch());
+            default -> List.of();
+        };
+    }
+
+    private static long allocatedBytes() {
+        return THREADS == null ? -1 : THREADS.getCurrentThreadAllocatedBytes();
+    }
+
+    private static com.sun.management.ThreadMXBean threads() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads
+                && threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()) {
+            return threads;
+        }
+        return null;
+    }
+
+    private static final class NodeStats {
+        private long invocations;
+        private long rows;
+        private long wallNanos;
+        private long allocatedBytes;
+
+        private void record(long nanos, long bytes, int resultRows) {
+            invocations++;
+            rows += resultRows;
+            wallNanos += nanos;
+            allocatedBytes = bytes < 0 ? -1 : allocatedBytes + bytes;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.challenge.generator.expression.engine.core;
+
+import com.challenge.generator.expression.engine.model.EvaluationContext;
+import com.challenge.generator.expression.engine.model.result.EvalResult;
+import com.challenge.generator.expression.engine.model.trace.ExecutionTrace;
+import com.challenge.generator.expression.engine.model.trace.TraceStep;
+import com.challenge.generator.expression.engine.parser.ast.ExpressionNode;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Instrumented variant of {@link ExpressionInterpreter} that records every node it evaluates as a
+ * {@link TraceStep}, for returning to the caller of a single traced request. Like
+ * {@link ProfilingInterpreter} it only overrides {@link #evaluate}, so the regular interpreter keeps
+ * no tracing or logging in its per-node path.
+ * <p>
+ * Instances collect state for a single evaluation and are not thread-safe; create one per trace.
+ */
+public class TracingInterpreter extends ExpressionInterpreter {
+
+    public static final int DEFAULT_MAX_STEPS = 1000;
+
+    private final int maxSteps;
+    private final List<TraceStep> steps = new ArrayList<>();
+    private int depth;
+    private boolean truncated;
+
+    TracingInterpreter(FunctionRegistry functionRegistry, int maxSteps) {
+        super(functionRegistry);
+        this.maxSteps = maxSteps;
+    }
+
+    @Override
+    public EvalResult evaluate(ExpressionNode node, EvaluationContext inputs) {
+        if (steps.size() >= maxSteps) {
+            truncated = true;
+            return super.evaluate(node, inputs);
+        }
+        int index = steps.size();
+        steps.add(null);
+        long start = System.nanoTime();
+        EvalResult result;
+        depth++;
+        try {
+            result = super.evaluate(node, inputs);
+        } finally {
+            depth--;
+        }
+        long elapsed = System.nanoTime() - start;
+        steps.set(index, new TraceStep(depth, NodeDescriptions.kind(node),
+                NodeDescriptions.label(node, inputs.parameters()), result.getClass().getSimpleName(),
+                result.asList().size(), result.firstOrNull(), elapsed));
+        return result;
+    }
+
+    /**
+     * Returns the steps recorded so far, in the order their evaluation started.
+     */
+    public ExecutionTrace trace() {
+        return new ExecutionTrace(List.copyOf(steps), truncated);
+    }
+}
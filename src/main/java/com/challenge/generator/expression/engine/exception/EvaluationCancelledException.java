@@ -0,0 +1,18 @@
+package com.challenge.generator.expression.engine.exception;
+
+import com.challenge.generator.expression.engine.model.CancellationToken;
+import lombok.Getter;
+
+/**
+ * Thrown from inside evaluation or serialization once the request's {@link CancellationToken} is cancelled.
+ */
+@Getter
+public class EvaluationCancelledException extends EvaluationException {
+
+    private final CancellationToken.Reason reason;
+
+    public EvaluationCancelledException(CancellationToken.Reason reason) {
+        super("Evaluation was cancelled: " + reason.label());
+        this.reason = reason;
+    }
+}
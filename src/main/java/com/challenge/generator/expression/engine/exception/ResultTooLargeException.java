@@ -0,0 +1,10 @@
+package com.challenge.generator.expression.engine.exception;
+
+/**
+ * Thrown when a function would produce more results than a list can hold.
+ */
+public class ResultTooLargeException extends EvaluationException {
+    public ResultTooLargeException(String functionName) {
+        super("Function '" + functionName + "' would produce more than " + Integer.MAX_VALUE + " results.");
+    }
+}
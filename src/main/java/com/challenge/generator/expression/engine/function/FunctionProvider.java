@@ -1,5 +1,6 @@
 package com.challenge.generator.expression.engine.function;
 
+import com.challenge.generator.expression.engine.model.DataType;
 import com.challenge.generator.expression.engine.model.result.ExecutableExpressionNode;
 
 import java.util.List;
@@ -9,6 +10,21 @@ public interface FunctionProvider {
 
     ExecutableExpressionNode create(List<ExecutableExpressionNode> arguments);
 
+    /**
+     * Type of the value the function returns, as far as it is known without evaluating it. Used by EXPLAIN.
+     */
+    default DataType resultType() {
+        return DataType.UNKNOWN;
+    }
+
+    /**
+     * Estimates how many values the function returns, given the estimated number of values of each
+     * argument. {@code assumedListSize} stands in for lists whose size depends on the input data.
+     */
+    default long estimateRows(List<Long> argumentRows, long assumedListSize) {
+        return 1;
+    }
+
     default void requireArgCount(List<ExecutableExpressionNode> arguments, int expected, String functionName) {
         ContractChecker.forFunction(functionName, arguments).requireExactArgs(expected);
     }
@@ -0,0 +1,57 @@
+package com.challenge.generator.expression.engine.function.provider;
+
+import com.challenge.generator.expression.engine.exception.ResultTooLargeException;
+import com.challenge.generator.expression.engine.function.FunctionName;
+import com.challenge.generator.expression.engine.model.CancellationToken;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * The cartesian product of the argument lists, concatenated element-wise. Elements are built when they
+ * are read, so a consumer that pulls them one at a time drives generation and the product is never
+ * held in memory. Element {@code i} reads the index into each argument as a mixed-radix digit of
+ * {@code i}, with the last argument varying fastest. Reading checks the evaluation's cancellation token
+ * every {@link CancellationToken#CHECK_INTERVAL} rows, so an abandoned request stops generating.
+ */
+final class CrossJoinList extends AbstractList<String> implements RandomAccess {
+
+    private final List<List<String>> arguments;
+    private final CancellationToken cancellation;
+    private final int size;
+
+    CrossJoinList(List<List<String>> arguments, CancellationToken cancellation) {
+        this.arguments = arguments;
+        this.cancellation = cancellation;
+        int product = 1;
+        try {
+            for (List<String> argument : arguments) {
+                product = Math.multiplyExact(product, argument.size());
+            }
+        } catch (ArithmeticException overflow) {
+            throw new ResultTooLargeException(FunctionName.CROSS_JOIN.getName());
+        }
+        this.size = product;
+    }
+
+    @Override
+    public String get(int index) {
+        Objects.checkIndex(index, size);
+        cancellation.checkpoint(index);
+        var parts = new String[arguments.size()];
+        int remainder = index;
+        for (int i = arguments.size() - 1; i >= 0; i--) {
+            var argument = arguments.get(i);
+            parts[i] = Objects.toString(argument.get(remainder % argument.size()), "");
+            remainder /= argument.size();
+        }
+        return String.join("", parts);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+}
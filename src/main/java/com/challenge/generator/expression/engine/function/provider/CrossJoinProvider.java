@@ -3,6 +3,7 @@ package com.challenge.generator.expression.engine.function.provider;
 import com.challenge.generator.expression.engine.function.ContractChecker;
 import com.challenge.generator.expression.engine.function.FunctionName;
 import com.challenge.generator.expression.engine.function.FunctionProvider;
+import com.challenge.generator.expression.engine.model.DataType;
 import com.challenge.generator.expression.engine.model.result.EvalResult;
 import com.challenge.generator.expression.engine.model.result.ExecutableExpressionNode;
 import com.challenge.generator.expression.engine.model.result.MultiValue;
@@ -10,8 +11,12 @@ import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Objects;
 
+/**
+ * {@code cross_join(a, b, ...)}: every combination of the argument values, concatenated. The product is
+ * built by a {@link CrossJoinList}: a streaming evaluation gets the list itself, so rows are only built as
+ * the caller reads them, any other evaluation gets the rows copied out during evaluation.
+ */
 @Component
 public class CrossJoinProvider implements FunctionProvider {
 
@@ -20,6 +25,20 @@ public class CrossJoinProvider implements FunctionProvider {
         return FunctionName.CROSS_JOIN.getName();
     }
 
+    @Override
+    public DataType resultType() {
+        return DataType.LIST;
+    }
+
+    @Override
+    public long estimateRows(List<Long> argumentRows, long assumedListSize) {
+        try {
+            return argumentRows.stream().reduce(1L, Math::multiplyExact);
+        } catch (ArithmeticException overflow) {
+            return Long.MAX_VALUE;
+        }
+    }
+
     @Override
     public ExecutableExpressionNode create(List<ExecutableExpressionNode> arguments) {
         ContractChecker.forFunction(getFunctionName(), arguments)
@@ -27,20 +46,16 @@ public class CrossJoinProvider implements FunctionProvider {
                 .requireArgCountLessThan(99);
 
         return inputs -> {
-            List<String> results = new ArrayList<>();
-            results.add("");
-
+            List<List<String>> argValues = new ArrayList<>(arguments.size());
             for (ExecutableExpressionNode arg : arguments) {
-                List<String> argValues = arg.evaluate(inputs).asList();
-                if (argValues.isEmpty()) {
+                List<String> values = arg.evaluate(inputs).asList();
+                if (values.isEmpty()) {
                     return EvalResult.EMPTY;
                 }
-                results = results.stream()
-                        .flatMap(prefix -> argValues.stream()
-                                .map(val -> Objects.toString(prefix, "") + Objects.toString(val, "")))
-                        .toList();
+                argValues.add(values);
             }
-            return new MultiValue(results);
+            var rows = new CrossJoinList(argValues, inputs.cancellation());
+            return new MultiValue(inputs.streaming() ? rows : List.copyOf(rows));
         };
     }
 }
@@ -3,6 +3,7 @@ package com.challenge.generator.expression.engine.function.provider;
 import com.challenge.generator.expression.engine.exception.InvalidDateFormatException;
 import com.challenge.generator.expression.engine.function.FunctionProvider;
 import com.challenge.generator.expression.engine.function.FunctionName;
+import com.challenge.generator.expression.engine.model.DataType;
 import com.challenge.generator.expression.engine.model.result.DateTimeValue;
 import com.challenge.generator.expression.engine.model.result.ExecutableExpressionNode;
 import org.springframework.stereotype.Component;
@@ -26,6 +27,11 @@ public class DateProvider implements FunctionProvider {
         return FunctionName.DATE.getName();
     }
 
+    @Override
+    public DataType resultType() {
+        return DataType.DATETIME;
+    }
+
     @Override
     public ExecutableExpressionNode create(List<ExecutableExpressionNode> arguments) {
         requireArgCount(arguments, 2, getFunctionName());
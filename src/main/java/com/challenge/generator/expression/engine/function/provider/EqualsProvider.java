@@ -2,6 +2,7 @@ package com.challenge.generator.expression.engine.function.provider;
 
 import com.challenge.generator.expression.engine.function.FunctionName;
 import com.challenge.generator.expression.engine.function.FunctionProvider;
+import com.challenge.generator.expression.engine.model.DataType;
 import com.challenge.generator.expression.engine.model.result.BooleanValue;
 import com.challenge.generator.expression.engine.model.result.DateTimeValue;
 import com.challenge.generator.expression.engine.model.result.EvalResult;
@@ -23,6 +24,11 @@ public class EqualsProvider implements FunctionProvider {
         return FunctionName.EQUALS.getName();
     }
 
+    @Override
+    public DataType resultType() {
+        return DataType.BOOLEAN;
+    }
+
     @Override
     public ExecutableExpressionNode create(List<ExecutableExpressionNode> arguments) {
         requireArgCount(arguments, 2, getFunctionName());
@@ -2,15 +2,16 @@ package com.challenge.generator.expression.engine.function.provider;
 
 import com.challenge.generator.expression.engine.function.FunctionName;
 import com.challenge.generator.expression.engine.function.FunctionProvider;
+import com.challenge.generator.expression.engine.model.CancellationToken;
+import com.challenge.generator.expression.engine.model.DataType;
 import com.challenge.generator.expression.engine.model.result.EvalResult;
 import com.challenge.generator.expression.engine.model.result.ExecutableExpressionNode;
 import com.challenge.generator.expression.engine.model.result.MultiValue;
 import org.springframework.stereotype.Component;
 
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 @Component
@@ -21,6 +22,16 @@ public class SplitProvider implements FunctionProvider {
         return FunctionName.SPLIT.getName();
     }
 
+    @Override
+    public DataType resultType() {
+        return DataType.LIST;
+    }
+
+    @Override
+    public long estimateRows(List<Long> argumentRows, long assumedListSize) {
+        return assumedListSize;
+    }
+
     @Override
     public ExecutableExpressionNode create(List<ExecutableExpressionNode> arguments) {
         requireArgCount(arguments, 2, getFunctionName());
@@ -39,11 +50,26 @@ public class SplitProvider implements FunctionProvider {
                 return splitByCharacter(input);
             }
 
-            String quoted = Pattern.quote(delimiter);
-            return new MultiValue(Arrays.asList(input.split(quoted, -1)));
+            return new MultiValue(split(input, delimiter, inputs.cancellation()));
         };
     }
 
+    /**
+     * Same as {@code input.split(Pattern.quote(delimiter), -1)}, but checks for cancellation while it goes.
+     */
+    private static List<String> split(String input, String delimiter, CancellationToken cancellation) {
+        var parts = new ArrayList<String>();
+        int start = 0;
+        int next;
+        while ((next = input.indexOf(delimiter, start)) >= 0) {
+            parts.add(input.substring(start, next));
+            start = next + delimiter.length();
+            cancellation.checkpoint(parts.size());
+        }
+        parts.add(input.substring(start));
+        return parts;
+    }
+
     private EvalResult splitByCharacter(String input) {
         List<String> chars = input.codePoints()
                 .mapToObj(cp -> new String(Character.toChars(cp)))
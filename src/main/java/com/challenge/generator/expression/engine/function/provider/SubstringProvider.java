@@ -2,6 +2,7 @@ package com.challenge.generator.expression.engine.function.provider;
 
 import com.challenge.generator.expression.engine.function.FunctionName;
 import com.challenge.generator.expression.engine.function.FunctionProvider;
+import com.challenge.generator.expression.engine.model.DataType;
 import com.challenge.generator.expression.engine.model.result.EvalResult;
 import com.challenge.generator.expression.engine.model.result.ExecutableExpressionNode;
 import com.challenge.generator.expression.engine.model.result.StringValue;
@@ -17,6 +18,11 @@ public class SubstringProvider implements FunctionProvider {
         return FunctionName.SUBSTRING_OF.getName();
     }
 
+    @Override
+    public DataType resultType() {
+        return DataType.STRING;
+    }
+
     @Override
     public ExecutableExpressionNode create(List<ExecutableExpressionNode> arguments) {
         requireArgCount(arguments, 3, getFunctionName());
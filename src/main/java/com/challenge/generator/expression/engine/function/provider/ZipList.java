@@ -0,0 +1,53 @@
+package com.challenge.generator.expression.engine.function.provider;
+
+import com.challenge.generator.expression.engine.model.CancellationToken;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * The argument lists joined position by position, with scalar arguments repeated on every row.
+ * Like {@link CrossJoinList}, rows are built when they are read rather than up front, checking the
+ * cancellation token as they go.
+ */
+final class ZipList extends AbstractList<String> implements RandomAccess {
+
+    private final List<List<String>> arguments;
+    private final boolean[] multi;
+    private final int size;
+    private final CancellationToken cancellation;
+
+    /**
+     * @param multi which arguments are lists; the others contribute their first value, or nothing
+     * @param size  the length of the shortest list argument
+     */
+    ZipList(List<List<String>> arguments, boolean[] multi, int size, CancellationToken cancellation) {
+        this.arguments = arguments;
+        this.multi = multi;
+        this.size = size;
+        this.cancellation = cancellation;
+    }
+
+    @Override
+    public String get(int index) {
+        Objects.checkIndex(index, size);
+        cancellation.checkpoint(index);
+        var row = new StringBuilder();
+        for (int i = 0; i < arguments.size(); i++) {
+            var values = arguments.get(i);
+            if (multi[i]) {
+                row.append(Objects.toString(values.get(index), ""));
+            } else if (!values.isEmpty()) {
+                row.append(Objects.toString(values.getFirst(), ""));
+            }
+        }
+        return row.toString();
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+}
@@ -3,6 +3,8 @@ package com.challenge.generator.expression.engine.function.provider;
 import com.challenge.generator.expression.engine.function.ContractChecker;
 import com.challenge.generator.expression.engine.function.FunctionName;
 import com.challenge.generator.expression.engine.function.FunctionProvider;
+import com.challenge.generator.expression.engine.model.CancellationToken;
+import com.challenge.generator.expression.engine.model.DataType;
 import com.challenge.generator.expression.engine.model.EvaluationContext;
 import com.challenge.generator.expression.engine.model.result.EvalResult;
 import com.challenge.generator.expression.engine.model.result.ExecutableExpressionNode;
@@ -13,8 +15,12 @@ import org.springframework.stereotype.Component;
 import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
+/**
+ * {@code zip(a, b, ...)}: the list arguments joined position by position up to the shortest one, with
+ * scalar arguments repeated on every row. Rows are built by a {@link ZipList}, lazily only for a
+ * streaming evaluation.
+ */
 @Component
 public class ZipProvider implements FunctionProvider {
 
@@ -26,6 +32,20 @@ public class ZipProvider implements FunctionProvider {
         return FunctionName.ZIP.getName();
     }
 
+    @Override
+    public DataType resultType() {
+        return DataType.LIST;
+    }
+
+    @Override
+    public long estimateRows(List<Long> argumentRows, long assumedListSize) {
+        return argumentRows.stream()
+                .filter(rows -> rows > 1)
+                .mapToLong(Long::longValue)
+                .min()
+                .orElse(1);
+    }
+
     @Override
     public ExecutableExpressionNode create(List<ExecutableExpressionNode> arguments) {
         ContractChecker.forFunction(getFunctionName(), arguments)
@@ -45,8 +65,11 @@ public class ZipProvider implements FunctionProvider {
             }
 
             int minSize = getMinSize(multiArgs);
-            List<String> results = zip(evaluatedArgs, minSize);
-            return results.isEmpty() ? EvalResult.EMPTY : new MultiValue(results);
+            if (minSize == 0) {
+                return EvalResult.EMPTY;
+            }
+            var rows = zip(evaluatedArgs, minSize, inputs.cancellation());
+            return new MultiValue(inputs.streaming() ? rows : List.copyOf(rows));
         };
     }
 
@@ -78,16 +101,11 @@ public class ZipProvider implements FunctionProvider {
                 .orElse(0);
     }
 
-    private List<String> zip(List<EvaluatedArgument> allArgs, int size) {
-        return IntStream.range(0, size)
-                .mapToObj(i -> allArgs.stream()
-                        .map(arg -> {
-                            if (arg.isMulti()) {
-                                return Objects.toString(arg.values().get(i), "");
-                            }
-                            return arg.values().isEmpty() ? "" : Objects.toString(arg.values().getFirst(), "");
-                        })
-                        .collect(Collectors.joining()))
-                .collect(Collectors.toList());
+    private List<String> zip(List<EvaluatedArgument> allArgs, int size, CancellationToken cancellation) {
+        var multi = new boolean[allArgs.size()];
+        for (int i = 0; i < multi.length; i++) {
+            multi[i] = allArgs.get(i).isMulti();
+        }
+        return new ZipList(allArgs.stream().map(EvaluatedArgument::values).toList(), multi, size, cancellation);
     }
 }
@@ -0,0 +1,37 @@
+package com.challenge.generator.expression.engine.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Resolving an expression to a plan: tokenizing, the plan cache lookup and, on a miss, parsing and compiling.
+ */
+@Name("com.challenge.generator.ExpressionCompile")
+@Label("Expression Compile")
+@Category({"Generator", "Expression"})
+@Description("Tokenizing an expression and resolving its plan from the plan cache, compiling it on a miss")
+@StackTrace(false)
+public class ExpressionCompileEvent extends jdk.jfr.Event {
+
+    @Label("Fingerprint")
+    String fingerprint;
+
+    @Label("Cache Hit")
+    boolean cacheHit;
+
+    @Label("Parameterized")
+    boolean parameterized;
+
+    public void complete(String fingerprint, boolean cacheHit, boolean parameterized) {
+        end();
+        if (shouldCommit() && !ExpressionEvents.isMuted()) {
+            this.fingerprint = fingerprint;
+            this.cacheHit = cacheHit;
+            this.parameterized = parameterized;
+            commit();
+        }
+    }
+}
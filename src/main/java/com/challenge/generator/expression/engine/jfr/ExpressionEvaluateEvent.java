@@ -0,0 +1,33 @@
+package com.challenge.generator.expression.engine.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evaluating a bound plan against the request's inputs.
+ */
+@Name("com.challenge.generator.ExpressionEvaluate")
+@Label("Expression Evaluate")
+@Category({"Generator", "Expression"})
+@Description("Evaluation of a bound plan against the request inputs")
+@StackTrace(false)
+public class ExpressionEvaluateEvent extends jdk.jfr.Event {
+
+    @Label("Fingerprint")
+    String fingerprint;
+
+    @Label("Result Count")
+    int resultCount;
+
+    public void complete(String fingerprint, int resultCount) {
+        end();
+        if (shouldCommit() && !ExpressionEvents.isMuted()) {
+            this.fingerprint = fingerprint;
+            this.resultCount = resultCount;
+            commit();
+        }
+    }
+}
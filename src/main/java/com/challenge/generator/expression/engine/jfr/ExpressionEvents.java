@@ -0,0 +1,68 @@
+package com.challenge.generator.expression.engine.jfr;
+
+import java.util.function.Supplier;
+
+/**
+ * Carries the fingerprint of the expression being evaluated on the current thread to events that are
+ * recorded away from the plan, i.e. function invocations and the response write. It is only set while
+ * a recording has the evaluate event enabled, so without a recording nothing is stored.
+ * <p>
+ * Work done inside {@link #muted(Supplier)}, such as the startup warm-up, records no events at all.
+ */
+public final class ExpressionEvents {
+
+    private static final ThreadLocal<String> CURRENT_FINGERPRINT = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> MUTED = new ThreadLocal<>();
+
+    private ExpressionEvents() {
+    }
+
+    /**
+     * Starts an evaluate event for the given plan fingerprint.
+     */
+    public static ExpressionEvaluateEvent beginEvaluate(String fingerprint) {
+        var event = new ExpressionEvaluateEvent();
+        if (event.isEnabled() && !isMuted()) {
+            CURRENT_FINGERPRINT.set(fingerprint);
+        }
+        event.begin();
+        return event;
+    }
+
+    public static String currentFingerprint() {
+        return CURRENT_FINGERPRINT.get();
+    }
+
+    /**
+     * Sets the current thread's fingerprint, e.g. after evaluation ran on another thread; {@code null} clears it.
+     */
+    public static void restoreFingerprint(String fingerprint) {
+        if (fingerprint == null) {
+            CURRENT_FINGERPRINT.remove();
+        } else {
+            CURRENT_FINGERPRINT.set(fingerprint);
+        }
+    }
+
+    /**
+     * Runs {@code work} on the current thread without recording any expression events.
+     */
+    public static <T> T muted(Supplier<T> work) {
+        var previous = MUTED.get();
+        MUTED.set(Boolean.TRUE);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                MUTED.remove();
+            }
+        }
+    }
+
+    /**
+     * Whether events are currently suppressed on this thread. Events check it only once they would commit.
+     */
+    public static boolean isMuted() {
+        return MUTED.get() != null;
+    }
+}
@@ -0,0 +1,33 @@
+package com.challenge.generator.expression.engine.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Parsing an expression's tokens into an AST. Only recorded on plan cache misses.
+ */
+@Name("com.challenge.generator.ExpressionParse")
+@Label("Expression Parse")
+@Category({"Generator", "Expression"})
+@Description("Parsing of an expression that was not in the plan cache")
+@StackTrace(false)
+public class ExpressionParseEvent extends jdk.jfr.Event {
+
+    @Label("Fingerprint")
+    String fingerprint;
+
+    @Label("Token Count")
+    int tokenCount;
+
+    public void complete(String fingerprint, int tokenCount) {
+        end();
+        if (shouldCommit() && !ExpressionEvents.isMuted()) {
+            this.fingerprint = fingerprint;
+            this.tokenCount = tokenCount;
+            commit();
+        }
+    }
+}
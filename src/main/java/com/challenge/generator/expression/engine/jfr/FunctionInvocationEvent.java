@@ -0,0 +1,40 @@
+package com.challenge.generator.expression.engine.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * A single function invocation, recorded only when it takes longer than the threshold. The threshold
+ * can be changed per recording, e.g. {@code com.challenge.generator.FunctionInvocation#threshold=0 ms}.
+ */
+@Name("com.challenge.generator.FunctionInvocation")
+@Label("Function Invocation")
+@Category({"Generator", "Expression"})
+@Description("Invocation of an expression function that took longer than the threshold")
+@Threshold("1 ms")
+@StackTrace(false)
+public class FunctionInvocationEvent extends jdk.jfr.Event {
+
+    @Label("Fingerprint")
+    String fingerprint;
+
+    @Label("Function")
+    String function;
+
+    @Label("Result Count")
+    int resultCount;
+
+    public void complete(String function, int resultCount) {
+        end();
+        if (shouldCommit() && !ExpressionEvents.isMuted()) {
+            this.fingerprint = ExpressionEvents.currentFingerprint();
+            this.function = function;
+            this.resultCount = resultCount;
+            commit();
+        }
+    }
+}
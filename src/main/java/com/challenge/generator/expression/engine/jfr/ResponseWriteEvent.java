@@ -0,0 +1,39 @@
+package com.challenge.generator.expression.engine.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Serializing and writing a generated response body.
+ */
+@Name("com.challenge.generator.ResponseWrite")
+@Label("Response Write")
+@Category({"Generator", "HTTP"})
+@Description("Serialization of generated emails to the response body")
+@StackTrace(false)
+public class ResponseWriteEvent extends jdk.jfr.Event {
+
+    @Label("Fingerprint")
+    String fingerprint;
+
+    @Label("Result Count")
+    int resultCount;
+
+    @Label("Byte Size")
+    @DataAmount
+    long byteSize;
+
+    public void complete(int resultCount, long byteSize) {
+        end();
+        if (shouldCommit() && !ExpressionEvents.isMuted()) {
+            this.fingerprint = ExpressionEvents.currentFingerprint();
+            this.resultCount = resultCount;
+            this.byteSize = byteSize;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.challenge.generator.expression.engine.model;
+
+import com.challenge.generator.expression.engine.exception.EvaluationCancelledException;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Cooperative cancellation for one evaluation. Whoever owns the request cancels it, e.g. when the client
+ * disconnects or its async request times out; the token also cancels itself once its deadline passes.
+ * Long-running loops call {@link #checkpoint} and stop by throwing {@link EvaluationCancelledException}.
+ * Checking costs a volatile read, plus a clock read when the token has a deadline.
+ */
+public final class CancellationToken {
+
+    /**
+     * Number of iterations between two checks in {@link #checkpoint}; a power of two.
+     */
+    public static final int CHECK_INTERVAL = 1024;
+
+    /**
+     * A token that is never cancelled, for evaluations nobody can give up on.
+     */
+    public static final CancellationToken NONE = new CancellationToken(Long.MAX_VALUE, false);
+
+    public enum Reason {
+        DISCONNECT, DEADLINE, TIMEOUT;
+
+        public String label() {
+            return name().toLowerCase();
+        }
+    }
+
+    private final long deadlineNanos;
+    private final boolean hasDeadline;
+    private final AtomicReference<Reason> reason = new AtomicReference<>();
+
+    private CancellationToken(long deadlineNanos, boolean hasDeadline) {
+        this.deadlineNanos = deadlineNanos;
+        this.hasDeadline = hasDeadline;
+    }
+
+    /**
+     * Returns a token that cancels itself once {@code deadline} has passed; a zero or negative
+     * deadline means none.
+     */
+    public static CancellationToken withDeadline(Duration deadline) {
+        if (deadline == null || deadline.isZero() || deadline.isNegative()) {
+            return new CancellationToken(Long.MAX_VALUE, false);
+        }
+        return new CancellationToken(System.nanoTime() + deadline.toNanos(), true);
+    }
+
+    /**
+     * Cancels the token. Only the first reason is kept; returns whether this call cancelled it.
+     */
+    public boolean cancel(Reason cancelReason) {
+        return this != NONE && reason.compareAndSet(null, cancelReason);
+    }
+
+    public boolean isCancelled() {
+        return reason() != null;
+    }
+
+    /**
+     * Returns why the token was cancelled, or {@code null} if it was not.
+     */
+    public Reason reason() {
+        var current = reason.get();
+        if (current == null && hasDeadline && System.nanoTime() - deadlineNanos >= 0) {
+            cancel(Reason.DEADLINE);
+            current = reason.get();
+        }
+        return current;
+    }
+
+    /**
+     * Returns the reason the token has been cancelled with so far, or {@code null}. Unlike {@link #reason()}
+     * it does not check the deadline, so a deadline that passed unnoticed is not reported, and never cancels.
+     */
+    public Reason cancelledReason() {
+        return reason.get();
+    }
+
+    public void throwIfCancelled() {
+        var current = reason();
+        if (current != null) {
+            throw new EvaluationCancelledException(current);
+        }
+    }
+
+    /**
+     * {@link #throwIfCancelled()} once every {@link #CHECK_INTERVAL} iterations of a loop.
+     */
+    public void checkpoint(int iteration) {
+        if ((iteration & (CHECK_INTERVAL - 1)) == 0) {
+            throwIfCancelled();
+        }
+    }
+}
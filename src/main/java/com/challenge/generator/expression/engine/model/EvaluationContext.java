@@ -1,15 +1,53 @@
 package com.challenge.generator.expression.engine.model;
 
+import com.challenge.generator.expression.engine.model.result.EvalResult;
+
+import java.util.List;
 import java.util.Map;
 
-public record EvaluationContext(Map<String, Object> data) {
+/**
+ * Input data for a single evaluation, plus the literal values bound to the parameter slots
+ * of a cached plan (empty when the AST was parsed directly) and the token that cancels it. When
+ * {@code streaming} is set, functions may return list results that are built as they are read;
+ * otherwise they build them during evaluation, so evaluation timings include generating the rows.
+ */
+public record EvaluationContext(Map<String, Object> data, List<EvalResult> parameters, CancellationToken cancellation,
+                                boolean streaming) {
 
-    public EvaluationContext(Map<String, Object> data) {
+    public EvaluationContext(Map<String, Object> data, List<EvalResult> parameters, CancellationToken cancellation,
+                             boolean streaming) {
         this.data = data == null ? Map.of() : data;
+        this.parameters = parameters == null ? List.of() : parameters;
+        this.cancellation = cancellation == null ? CancellationToken.NONE : cancellation;
+        this.streaming = streaming;
+    }
+
+    public EvaluationContext(Map<String, Object> data, List<EvalResult> parameters, CancellationToken cancellation) {
+        this(data, parameters, cancellation, false);
+    }
+
+    public EvaluationContext(Map<String, Object> data, List<EvalResult> parameters) {
+        this(data, parameters, CancellationToken.NONE);
+    }
+
+    public EvaluationContext(Map<String, Object> data) {
+        this(data, List.of());
     }
 
     public static EvaluationContext from(Map<String, Object> data) {
         return new EvaluationContext(data);
     }
 
+    public static EvaluationContext from(Map<String, Object> data, List<EvalResult> parameters) {
+        return new EvaluationContext(data, parameters);
+    }
+
+    public static EvaluationContext from(Map<String, Object> data, List<EvalResult> parameters, CancellationToken cancellation) {
+        return new EvaluationContext(data, parameters, cancellation);
+    }
+
+    public static EvaluationContext streaming(Map<String, Object> data, List<EvalResult> parameters, CancellationToken cancellation) {
+        return new EvaluationContext(data, parameters, cancellation, true);
+    }
+
 }
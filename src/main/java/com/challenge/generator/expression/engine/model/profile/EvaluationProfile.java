@@ -0,0 +1,9 @@
+package com.challenge.generator.expression.engine.model.profile;
+
+import java.util.List;
+
+/**
+ * The results of a profiled evaluation together with the annotated plan that produced them.
+ */
+public record EvaluationProfile(List<String> results, ProfileNode root) {
+}
@@ -0,0 +1,22 @@
+package com.challenge.generator.expression.engine.model.profile;
+
+import java.util.List;
+
+/**
+ * One AST node annotated with what happened while it was evaluated, in the spirit of EXPLAIN ANALYZE.
+ * Times and allocated bytes include the node's children; {@code selfNanos} excludes them. Counters
+ * add up over all invocations, so a function argument evaluated once per row shows the total.
+ * A node with zero invocations was never executed, e.g. the branch of a ternary that was not taken.
+ *
+ * @param node           node kind, e.g. {@code function} or {@code binary}
+ * @param label          what the node does, e.g. the function name, the operator or the literal
+ * @param invocations    how many times the node was evaluated
+ * @param rows           total number of values the node produced
+ * @param wallNanos      wall time spent in the node, including its children
+ * @param selfNanos      wall time spent in the node itself
+ * @param allocatedBytes bytes allocated while evaluating the node, or -1 if the JVM cannot tell
+ * @param children       the node's operands in evaluation order
+ */
+public record ProfileNode(String node, String label, long invocations, long rows, long wallNanos, long selfNanos,
+                          long allocatedBytes, List<ProfileNode> children) {
+}
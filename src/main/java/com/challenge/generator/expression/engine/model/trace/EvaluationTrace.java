@@ -0,0 +1,9 @@
+package com.challenge.generator.expression.engine.model.trace;
+
+import java.util.List;
+
+/**
+ * The results of a traced evaluation together with the steps that produced them.
+ */
+public record EvaluationTrace(List<String> results, ExecutionTrace trace) {
+}
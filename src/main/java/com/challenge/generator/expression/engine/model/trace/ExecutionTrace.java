@@ -0,0 +1,10 @@
+package com.challenge.generator.expression.engine.model.trace;
+
+import java.util.List;
+
+/**
+ * The node evaluations recorded for one traced request. Recording stops after a fixed number of steps,
+ * in which case {@code truncated} is set and the evaluation itself still runs to completion.
+ */
+public record ExecutionTrace(List<TraceStep> steps, boolean truncated) {
+}
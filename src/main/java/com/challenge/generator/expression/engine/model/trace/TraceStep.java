@@ -0,0 +1,15 @@
+package com.challenge.generator.expression.engine.model.trace;
+
+/**
+ * One node evaluation of a traced request, listed in the order evaluation started.
+ *
+ * @param depth      nesting level below the root, which is at 0
+ * @param node       node kind, e.g. {@code function} or {@code binary}
+ * @param label      what the node does, e.g. the function name, the operator or the literal
+ * @param resultType the kind of value the node produced, e.g. {@code MultiValue}
+ * @param rows       number of values the node produced
+ * @param value      the first value produced, or {@code null} if there was none
+ * @param nanos      wall time spent in the node, including its children
+ */
+public record TraceStep(int depth, String node, String label, String resultType, int rows, String value, long nanos) {
+}
@@ -21,13 +21,32 @@ public record ExpressionParser(Tokenizer tokenizer, Grammar grammar) {
         if (expression == null || expression.isBlank()) {
             return new LiteralNode("", STRING, 0);
         }
-        List<Token> tokens = tokenizer.tokenize(expression);
+        return parse(tokenizer.tokenize(expression));
+    }
+
+    public ExpressionNode parse(List<Token> tokens) {
+        if (tokens.isEmpty()) {
+            return new LiteralNode("", STRING, 0);
+        }
         TokenStream stream = new TokenStream(tokens);
         ExpressionNode result = parseExpression(stream, 0);
         ensureNoTrailingTokens(stream);
         return result;
     }
 
+    /**
+     * Parses a single literal token through its grammar rule, so bound plan parameters
+     * get exactly the value the full parser would have produced.
+     */
+    public ExpressionNode parseLiteral(Token token) {
+        TokenParser prefixParser = grammar.getParser(token.type());
+        if (prefixParser == null) {
+            String message = String.format("Could not parse \"%s\". It cannot be used in this position.", token.value());
+            throw new ExpressionParseException(INVALID_TOKEN_PLACEMENT, message, token.position());
+        }
+        return prefixParser.parsePrefix(this, new TokenStream(List.of()), token);
+    }
+
     public ExpressionNode parseExpression(TokenStream stream, int precedence) {
         Token token = stream.consume();
         TokenParser prefixParser = grammar.getParser(token.type());
@@ -11,4 +11,5 @@ public interface NodeVisitor<R> {
     R visit(FunctionCall node);
     R visit(ConditionalNode node);
     R visit(MapLiteralNode node);
+    R visit(ParameterNode node);
 }
@@ -0,0 +1,12 @@
+package com.challenge.generator.expression.engine.parser.ast;
+
+/**
+ * AST node for a literal that was lifted out of a cached plan into a bind slot.
+ * The value is supplied per execution, in the same way as a prepared statement parameter.
+ */
+public record ParameterNode(int slot, int position) implements ExpressionNode {
+    @Override
+    public <R> R accept(NodeVisitor<R> visitor) {
+        return visitor.visit(this);
+    }
+}
@@ -3,9 +3,11 @@ package com.challenge.generator.expression.engine.parser.grammar;
 import com.challenge.generator.expression.engine.parser.TokenParser;
 import com.challenge.generator.expression.engine.parser.token.TokenType;
 
+import java.util.Collections;
 import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 public class Grammar {
     private final Map<TokenType, TokenParser> parsers = new EnumMap<>(TokenType.class);
@@ -21,4 +23,8 @@ public class Grammar {
     public TokenParser getParser(TokenType type) {
         return parsers.get(type);
     }
+
+    public Set<TokenType> getRegisteredTokenTypes() {
+        return Collections.unmodifiableSet(parsers.keySet());
+    }
 }
@@ -0,0 +1,21 @@
+package com.challenge.generator.expression.engine.plan;
+
+import com.challenge.generator.expression.engine.model.result.EvalResult;
+import com.challenge.generator.expression.engine.parser.ast.ExpressionNode;
+
+import java.util.List;
+
+/**
+ * A plan with its parameter slots already bound to literal values, ready to be executed
+ * against any number of inputs.
+ */
+public record BoundPlan(CompiledPlan plan, List<EvalResult> parameters) {
+
+    public ExpressionNode root() {
+        return plan.root();
+    }
+
+    public String fingerprint() {
+        return plan.fingerprint();
+    }
+}
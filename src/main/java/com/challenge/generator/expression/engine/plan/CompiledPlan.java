@@ -0,0 +1,24 @@
+package com.challenge.generator.expression.engine.plan;
+
+import com.challenge.generator.expression.engine.parser.ast.ExpressionNode;
+
+/**
+ * A cached, executable AST. When {@code parameterized} is true its literals were replaced by
+ * {@link com.challenge.generator.expression.engine.parser.ast.ParameterNode} slots and the plan is
+ * shared by every expression with the same {@link ExpressionShape}; otherwise it is keyed by its
+ * exact text and contains the original literals. {@code fingerprint} is derived from the key, see
+ * {@link ExpressionShape#fingerprint(String)}.
+ */
+public record CompiledPlan(String key, ExpressionNode root, boolean parameterized, String fingerprint) {
+
+    public CompiledPlan(String key, ExpressionNode root, boolean parameterized) {
+        this(key, root, parameterized, ExpressionShape.fingerprint(key));
+    }
+
+    /**
+     * The literal-free shape the plan was cached under, e.g. {@code split ( names , $ )}.
+     */
+    public String shape() {
+        return ExpressionShape.shapeOf(key);
+    }
+}
@@ -0,0 +1,14 @@
+package com.challenge.generator.expression.engine.plan;
+
+import com.challenge.generator.expression.engine.model.DataType;
+
+import java.util.List;
+
+/**
+ * One node of an explained expression with its static type and estimates. {@code estimatedRows} is
+ * the number of values the node is expected to produce; {@code estimatedCost} adds up the values
+ * produced by the node and everything below it, as a unitless measure of work.
+ */
+public record ExplainNode(String node, String label, DataType type, long estimatedRows, long estimatedCost,
+                          List<ExplainNode> children) {
+}
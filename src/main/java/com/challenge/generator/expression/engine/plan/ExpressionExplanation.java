@@ -0,0 +1,12 @@
+package com.challenge.generator.expression.engine.plan;
+
+import java.util.List;
+
+/**
+ * Result of explaining an expression without evaluating it: the AST as parsed, the plan that would be
+ * executed (literals lifted into parameter slots when the expression can be parameterized), and the
+ * root estimates repeated at the top level for easy checking.
+ */
+public record ExpressionExplanation(String expression, ExplainNode ast, ExplainNode plan, boolean parameterized,
+                                    List<String> parameters, long estimatedRows, long estimatedCost) {
+}
@@ -0,0 +1,88 @@
+package com.challenge.generator.expression.engine.plan;
+
+import com.challenge.generator.expression.engine.parser.token.Token;
+import com.challenge.generator.expression.engine.parser.token.TokenType;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Literal-free signature of a tokenized expression. Expressions that differ only in their string
+ * or numeric literals share the same key; the literal tokens are kept in source order so they can
+ * be bound to the slots of a shared plan.
+ */
+public record ExpressionShape(String key, List<Token> tokens, List<Token> literals) {
+
+    private static final String SLOT_MARKER = "$";
+    private static final char SEPARATOR = ' ';
+    private static final char LITERAL_SEPARATOR = '\u0000';
+    private static final int FINGERPRINT_LENGTH = 16;
+
+    public static ExpressionShape of(List<Token> tokens) {
+        var key = new StringBuilder();
+        var literals = new ArrayList<Token>();
+        for (Token token : tokens) {
+            if (!key.isEmpty()) {
+                key.append(SEPARATOR);
+            }
+            if (isLiteral(token.type())) {
+                key.append(SLOT_MARKER);
+                literals.add(token);
+            } else {
+                key.append(token.value());
+            }
+        }
+        return new ExpressionShape(key.toString(), tokens, List.copyOf(literals));
+    }
+
+    public static boolean isLiteral(TokenType type) {
+        return type == TokenType.STRING_LITERAL
+                || type == TokenType.INTEGER_LITERAL
+                || type == TokenType.DECIMAL_LITERAL;
+    }
+
+    /**
+     * Key that also includes the literal values, used for plans that cannot be parameterized.
+     */
+    public String exactKey() {
+        var exact = new StringBuilder(key);
+        for (Token literal : literals) {
+            exact.append(LITERAL_SEPARATOR).append(literal.value());
+        }
+        return exact.toString();
+    }
+
+    /**
+     * Short stable hash of the literal-free shape, for correlating recordings and statistics with an
+     * expression without exposing its literals.
+     */
+    public String fingerprint() {
+        return fingerprint(key);
+    }
+
+    /**
+     * The literal-free part of a plan key; exact keys are cut at their literal values.
+     */
+    public static String shapeOf(String planKey) {
+        int literals = planKey.indexOf(LITERAL_SEPARATOR);
+        return literals < 0 ? planKey : planKey.substring(0, literals);
+    }
+
+    /**
+     * Fingerprint of a plan key. Exact keys are cut at their literal values, so a plan that could not
+     * be parameterized gets the same fingerprint as its shape.
+     */
+    public static String fingerprint(String planKey) {
+        var shapeKey = shapeOf(planKey);
+        try {
+            var digest = MessageDigest.getInstance("SHA-256").digest(shapeKey.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest).substring(0, FINGERPRINT_LENGTH);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.challenge.generator.expression.engine.plan;
+
+import com.challenge.generator.expression.engine.parser.ast.BinaryOpNode;
+import com.challenge.generator.expression.engine.parser.ast.ConditionalNode;
+import com.challenge.generator.expression.engine.parser.ast.ExpressionNode;
+import com.challenge.generator.expression.engine.parser.ast.FunctionCall;
+import com.challenge.generator.expression.engine.parser.ast.IdentifierNode;
+import com.challenge.generator.expression.engine.parser.ast.LiteralNode;
+import com.challenge.generator.expression.engine.parser.ast.MapLiteralNode;
+import com.challenge.generator.expression.engine.parser.ast.NodeVisitor;
+import com.challenge.generator.expression.engine.parser.ast.ParameterNode;
+import com.challenge.generator.expression.engine.parser.token.Token;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Rewrites a parsed AST into a plan template by replacing every literal that came from a
+ * literal token with a {@link ParameterNode}. Slots are matched by source position, so literals
+ * consumed elsewhere (e.g. map literal values) are left unbound and reported via {@link #isFullyBound()}.
+ */
+public final class PlanCompiler implements NodeVisitor<ExpressionNode> {
+
+    private final Map<Integer, Integer> slotsByPosition = new HashMap<>();
+    private final Predicate<String> knownFunction;
+    private int boundSlots;
+    private boolean functionsResolved = true;
+
+    public PlanCompiler(List<Token> literals, Predicate<String> knownFunction) {
+        for (int slot = 0; slot < literals.size(); slot++) {
+            slotsByPosition.put(literals.get(slot).position(), slot);
+        }
+        this.knownFunction = knownFunction;
+    }
+
+    public ExpressionNode compile(ExpressionNode ast) {
+        return ast.accept(this);
+    }
+
+    /**
+     * True when every literal token was lifted into a slot, i.e. the template is safe to share.
+     */
+    public boolean isFullyBound() {
+        return boundSlots == slotsByPosition.size();
+    }
+
+    /**
+     * False when the AST calls a function that is not registered. Such plans are not cached, so the
+     * resulting error always reports positions from the request's own expression.
+     */
+    public boolean isFunctionsResolved() {
+        return functionsResolved;
+    }
+
+    @Override
+    public ExpressionNode visit(LiteralNode node) {
+        Integer slot = slotsByPosition.get(node.position());
+        if (slot == null) {
+            return node;
+        }
+        boundSlots++;
+        return new ParameterNode(slot, node.position());
+    }
+
+    @Override
+    public ExpressionNode visit(IdentifierNode node) {
+        return node;
+    }
+
+    @Override
+    public ExpressionNode visit(BinaryOpNode node) {
+        return new BinaryOpNode(node.operator(), node.left().accept(this), node.right().accept(this), node.position());
+    }
+
+    @Override
+    public ExpressionNode visit(FunctionCall node) {
+        if (!knownFunction.test(node.name())) {
+            functionsResolved = false;
+        }
+        var arguments = node.arguments().stream()
+                .map(argument -> argument.accept(this))
+                .toList();
+        return new FunctionCall(node.name(), node.position(), arguments);
+    }
+
+    @Override
+    public ExpressionNode visit(ConditionalNode node) {
+        return new ConditionalNode(node.condition().accept(this), node.thenBranch().accept(this), node.elseBranch().accept(this));
+    }
+
+    @Override
+    public ExpressionNode visit(MapLiteralNode node) {
+        return node;
+    }
+
+    @Override
+    public ExpressionNode visit(ParameterNode node) {
+        return node;
+    }
+}
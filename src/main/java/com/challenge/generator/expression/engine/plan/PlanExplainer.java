@@ -0,0 +1,184 @@
+package com.challenge.generator.expression.engine.plan;
+
+import com.challenge.generator.expression.engine.exception.UnknownFunctionException;
+import com.challenge.generator.expression.engine.function.FunctionProvider;
+import com.challenge.generator.expression.engine.model.DataType;
+import com.challenge.generator.expression.engine.model.result.EvalResult;
+import com.challenge.generator.expression.engine.model.result.ExecutableExpressionNode;
+import com.challenge.generator.expression.engine.parser.ast.*;
+import com.challenge.generator.expression.engine.parser.token.Operator;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Derives static types and row/cost estimates for an AST or plan without evaluating it. Inputs are
+ * query parameters and therefore typed as strings; lists whose size depends on the input (e.g. the
+ * result of {@code split}) are assumed to have {@code assumedListSize} elements, or, when the actual
+ * inputs are known, as many as splitting the inputs a function reads by its constant delimiter gives,
+ * and an input holding a list yields one row per element. Functions are checked for
+ * existence and argument counts, so an expression that explains cleanly also compiles.
+ */
+public final class PlanExplainer implements NodeVisitor<ExplainNode> {
+
+    private static final ExecutableExpressionNode UNEVALUATED = inputs -> EvalResult.EMPTY;
+
+    private final Function<String, Optional<FunctionProvider>> functions;
+    private final List<LiteralNode> parameters;
+    private final long assumedListSize;
+    private final InputListSize inputListSize;
+
+    /**
+     * Estimates the size of a list read from an input.
+     */
+    @FunctionalInterface
+    public interface InputListSize {
+
+        /**
+         * @param input     name of the input the function reads
+         * @param delimiter the function's constant string argument, e.g. the delimiter of {@code split},
+         *                  or {@code null} when it has none or it is only known at evaluation time
+         * @return the estimated number of elements, or a negative number when it cannot be told
+         */
+        long estimate(String input, String delimiter);
+
+        /**
+         * @param input name of an input read directly as an identifier
+         * @return the number of values it holds, e.g. the size of a list passed in a request body
+         */
+        default long rows(String input) {
+            return 1;
+        }
+    }
+
+    /**
+     * @param functions  looks up a function provider by name
+     * @param parameters the literals bound to the plan's parameter slots, in slot order
+     */
+    public PlanExplainer(Function<String, Optional<FunctionProvider>> functions, List<LiteralNode> parameters, long assumedListSize) {
+        this(functions, parameters, assumedListSize, (input, delimiter) -> assumedListSize);
+    }
+
+    /**
+     * @param inputListSize estimated list size of an input; a function that reads inputs directly assumes
+     *                      the largest of them instead of {@code assumedListSize}, as long as one is known
+     */
+    public PlanExplainer(Function<String, Optional<FunctionProvider>> functions, List<LiteralNode> parameters, long assumedListSize,
+                         InputListSize inputListSize) {
+        this.functions = functions;
+        this.parameters = parameters;
+        this.assumedListSize = assumedListSize;
+        this.inputListSize = inputListSize;
+    }
+
+    public ExplainNode explain(ExpressionNode node) {
+        return node.accept(this);
+    }
+
+    @Override
+    public ExplainNode visit(LiteralNode node) {
+        return leaf("literal", String.valueOf(node.value()), node.type(), 1);
+    }
+
+    @Override
+    public ExplainNode visit(ParameterNode node) {
+        if (node.slot() >= parameters.size()) {
+            return leaf("parameter", "$" + node.slot(), DataType.UNKNOWN, 1);
+        }
+        var literal = parameters.get(node.slot());
+        return leaf("parameter", "$" + node.slot() + " = " + literal.value(), literal.type(), 1);
+    }
+
+    @Override
+    public ExplainNode visit(IdentifierNode node) {
+        return leaf("identifier", node.name(), DataType.STRING, Math.max(1, inputListSize.rows(node.name())));
+    }
+
+    @Override
+    public ExplainNode visit(MapLiteralNode node) {
+        return leaf("map", node.entries().size() + " entries", DataType.MAP, node.entries().size());
+    }
+
+    @Override
+    public ExplainNode visit(BinaryOpNode node) {
+        var left = node.left().accept(this);
+        var right = node.right().accept(this);
+        var op = Operator.fromSymbol(node.operator());
+        DataType type = switch (op) {
+            case CONCATENATE -> DataType.STRING;
+            case LESS_THAN, GREATER_THAN, EQUALS, LESS_THAN_OR_EQUAL, GREATER_THAN_OR_EQUAL, NOT_EQUALS -> DataType.BOOLEAN;
+            default -> left.type() == DataType.INTEGER && right.type() == DataType.INTEGER ? DataType.INTEGER : DataType.DECIMAL;
+        };
+        return node("binary", node.operator(), type, 1, List.of(left, right));
+    }
+
+    @Override
+    public ExplainNode visit(FunctionCall node) {
+        var provider = functions.apply(node.name())
+                .orElseThrow(() -> new UnknownFunctionException(node.name(), node.position()));
+        provider.create(node.arguments().stream().map(argument -> UNEVALUATED).toList());
+        var arguments = node.arguments().stream()
+                .map(argument -> argument.accept(this))
+                .toList();
+        long rows = provider.estimateRows(arguments.stream().map(ExplainNode::estimatedRows).toList(), listSize(node.arguments()));
+        return node("function", node.name(), provider.resultType(), rows, arguments);
+    }
+
+    private long listSize(List<ExpressionNode> arguments) {
+        var delimiter = constantString(arguments);
+        long size = -1;
+        for (ExpressionNode argument : arguments) {
+            if (argument instanceof IdentifierNode identifier) {
+                size = Math.max(size, inputListSize.estimate(identifier.name(), delimiter));
+            }
+        }
+        return size < 0 ? assumedListSize : size;
+    }
+
+    private String constantString(List<ExpressionNode> arguments) {
+        for (ExpressionNode argument : arguments) {
+            var literal = switch (argument) {
+                case LiteralNode node -> node;
+                case ParameterNode node when node.slot() < parameters.size() -> parameters.get(node.slot());
+                default -> null;
+            };
+            if (literal != null && literal.type() == DataType.STRING) {
+                return String.valueOf(literal.value());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Only one branch runs, so the estimate takes the larger one rather than both.
+     */
+    @Override
+    public ExplainNode visit(ConditionalNode node) {
+        var condition = node.condition().accept(this);
+        var thenBranch = node.thenBranch().accept(this);
+        var elseBranch = node.elseBranch().accept(this);
+        var type = thenBranch.type() == elseBranch.type() ? thenBranch.type() : DataType.UNKNOWN;
+        long rows = Math.max(thenBranch.estimatedRows(), elseBranch.estimatedRows());
+        long cost = saturatedAdd(condition.estimatedCost(), Math.max(thenBranch.estimatedCost(), elseBranch.estimatedCost()));
+        return new ExplainNode("conditional", "?:", type, rows, saturatedAdd(cost, rows),
+                List.of(condition, thenBranch, elseBranch));
+    }
+
+    private static ExplainNode leaf(String kind, String label, DataType type, long rows) {
+        return new ExplainNode(kind, label, type, rows, rows, List.of());
+    }
+
+    private static ExplainNode node(String kind, String label, DataType type, long rows, List<ExplainNode> children) {
+        long cost = rows;
+        for (ExplainNode child : children) {
+            cost = saturatedAdd(cost, child.estimatedCost());
+        }
+        return new ExplainNode(kind, label, type, rows, cost, children);
+    }
+
+    private static long saturatedAdd(long a, long b) {
+        long sum = a + b;
+        return sum < 0 ? Long.MAX_VALUE : sum;
+    }
+}
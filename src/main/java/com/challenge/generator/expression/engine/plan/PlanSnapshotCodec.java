@@ -0,0 +1,272 @@
+package com.challenge.generator.expression.engine.plan;
+
+import com.challenge.generator.expression.engine.model.DataType;
+import com.challenge.generator.expression.engine.parser.ast.BinaryOpNode;
+import com.challenge.generator.expression.engine.parser.ast.ConditionalNode;
+import com.challenge.generator.expression.engine.parser.ast.ExpressionNode;
+import com.challenge.generator.expression.engine.parser.ast.FunctionCall;
+import com.challenge.generator.expression.engine.parser.ast.IdentifierNode;
+import com.challenge.generator.expression.engine.parser.ast.LiteralNode;
+import com.challenge.generator.expression.engine.parser.ast.MapLiteralNode;
+import com.challenge.generator.expression.engine.parser.ast.NodeVisitor;
+import com.challenge.generator.expression.engine.parser.ast.ParameterNode;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact binary encoding of compiled plans. Each node is written as a one-byte tag followed by its
+ * fields in pre-order; strings are length-prefixed UTF-8. Literal values carry their own one-byte kind
+ * next to the literal's {@link DataType}, so they decode to the same Java type they were parsed as; the
+ * parser only produces strings and {@link BigDecimal}s. Decoding reads from a {@link ByteBuffer} so
+ * snapshot files can be memory-mapped instead of streamed, and fails with {@link IllegalStateException}
+ * on a truncated or corrupt buffer rather than trusting the lengths it contains.
+ */
+public final class PlanSnapshotCodec {
+
+    private static final int MAGIC = 0x504C414E;
+    private static final int VERSION = 2;
+
+    private static final byte LITERAL = 1;
+    private static final byte IDENTIFIER = 2;
+    private static final byte BINARY = 3;
+    private static final byte FUNCTION = 4;
+    private static final byte CONDITIONAL = 5;
+    private static final byte MAP = 6;
+    private static final byte PARAMETER = 7;
+
+    private static final byte VALUE_NULL = 0;
+    private static final byte VALUE_STRING = 1;
+    private static final byte VALUE_DECIMAL = 2;
+
+    private PlanSnapshotCodec() {
+    }
+
+    public static void encode(Collection<CompiledPlan> plans, DataOutput out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(plans.size());
+        var writer = new NodeWriter(out);
+        for (CompiledPlan plan : plans) {
+            writeString(out, plan.key());
+            out.writeBoolean(plan.parameterized());
+            writer.write(plan.root());
+        }
+    }
+
+    /**
+     * Decodes a snapshot, or returns an empty list if the buffer was written by a different format version.
+     */
+    public static List<CompiledPlan> decode(ByteBuffer in) {
+        if (in.remaining() < Integer.BYTES * 3 || in.getInt() != MAGIC || in.getInt() != VERSION) {
+            return List.of();
+        }
+        int count = readCount(in);
+        var plans = new ArrayList<CompiledPlan>(count);
+        for (int i = 0; i < count; i++) {
+            String key = readString(in);
+            boolean parameterized = in.get() != 0;
+            plans.add(new CompiledPlan(key, readNode(in), parameterized));
+        }
+        return plans;
+    }
+
+    private static ExpressionNode readNode(ByteBuffer in) {
+        byte tag = in.get();
+        return switch (tag) {
+            case LITERAL -> {
+                var type = DataType.values()[in.get()];
+                var value = readValue(in);
+                yield new LiteralNode(value, type, in.getInt());
+            }
+            case IDENTIFIER -> new IdentifierNode(readString(in), in.getInt());
+            case BINARY -> {
+                var operator = readString(in);
+                var left = readNode(in);
+                var right = readNode(in);
+                yield new BinaryOpNode(operator, left, right, in.getInt());
+            }
+            case FUNCTION -> {
+                var name = readString(in);
+                int position = in.getInt();
+                int argumentCount = readCount(in);
+                var arguments = new ArrayList<ExpressionNode>(argumentCount);
+                for (int i = 0; i < argumentCount; i++) {
+                    arguments.add(readNode(in));
+                }
+                yield new FunctionCall(name, position, List.copyOf(arguments));
+            }
+            case CONDITIONAL -> {
+                var condition = readNode(in);
+                var thenBranch = readNode(in);
+                yield new ConditionalNode(condition, thenBranch, readNode(in));
+            }
+            case MAP -> {
+                int size = readCount(in);
+                Map<String, String> entries = new LinkedHashMap<>();
+                for (int i = 0; i < size; i++) {
+                    entries.put(readString(in), readString(in));
+                }
+                yield new MapLiteralNode(entries, in.getInt());
+            }
+            case PARAMETER -> new ParameterNode(in.getInt(), in.getInt());
+            default -> throw new IllegalStateException("Unknown plan node tag: " + tag);
+        };
+    }
+
+    private static Object readValue(ByteBuffer in) {
+        byte kind = in.get();
+        return switch (kind) {
+            case VALUE_NULL -> null;
+            case VALUE_STRING -> readString(in);
+            case VALUE_DECIMAL -> new BigDecimal(readString(in));
+            default -> throw new IllegalStateException("Unknown literal value kind: " + kind);
+        };
+    }
+
+    private static void writeValue(DataOutput out, Object value) throws IOException {
+        switch (value) {
+            case null -> out.writeByte(VALUE_NULL);
+            case String string -> {
+                out.writeByte(VALUE_STRING);
+                writeString(out, string);
+            }
+            case BigDecimal number -> {
+                out.writeByte(VALUE_DECIMAL);
+                writeString(out, number.toString());
+            }
+            default -> throw new IllegalArgumentException("Cannot encode literal of type " + value.getClass().getName());
+        }
+    }
+
+    private static void writeString(DataOutput out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        byte[] bytes = new byte[readCount(in)];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads a length or element count. Every byte or element takes at least one byte of the buffer, so
+     * a larger count can only come from a truncated or corrupt snapshot.
+     */
+    private static int readCount(ByteBuffer in) {
+        int count = in.getInt();
+        if (count < 0 || count > in.remaining()) {
+            throw new IllegalStateException("Corrupt plan snapshot: count " + count + " with "
+                    + in.remaining() + " byte(s) left");
+        }
+        return count;
+    }
+
+    /**
+     * Visitor that writes nodes in the same pre-order layout that {@link #readNode(ByteBuffer)} expects.
+     */
+    private record NodeWriter(DataOutput out) implements NodeVisitor<Void> {
+
+        void write(ExpressionNode node) {
+            node.accept(this);
+        }
+
+        @Override
+        public Void visit(LiteralNode node) {
+            return io(() -> {
+                out.writeByte(LITERAL);
+                out.writeByte(node.type().ordinal());
+                writeValue(out, node.value());
+                out.writeInt(node.position());
+            });
+        }
+
+        @Override
+        public Void visit(IdentifierNode node) {
+            return io(() -> {
+                out.writeByte(IDENTIFIER);
+                writeString(out, node.name());
+                out.writeInt(node.position());
+            });
+        }
+
+        @Override
+        public Void visit(BinaryOpNode node) {
+            return io(() -> {
+                out.writeByte(BINARY);
+                writeString(out, node.operator());
+                write(node.left());
+                write(node.right());
+                out.writeInt(node.position());
+            });
+        }
+
+        @Override
+        public Void visit(FunctionCall node) {
+            return io(() -> {
+                out.writeByte(FUNCTION);
+                writeString(out, node.name());
+                out.writeInt(node.position());
+                out.writeInt(node.arguments().size());
+                node.arguments().forEach(this::write);
+            });
+        }
+
+        @Override
+        public Void visit(ConditionalNode node) {
+            return io(() -> {
+                out.writeByte(CONDITIONAL);
+                write(node.condition());
+                write(node.thenBranch());
+                write(node.elseBranch());
+            });
+        }
+
+        @Override
+        public Void visit(MapLiteralNode node) {
+            return io(() -> {
+                out.writeByte(MAP);
+                out.writeInt(node.entries().size());
+                for (var entry : node.entries().entrySet()) {
+                    writeString(out, entry.getKey());
+                    writeString(out, entry.getValue());
+                }
+                out.writeInt(node.position());
+            });
+        }
+
+        @Override
+        public Void visit(ParameterNode node) {
+            return io(() -> {
+                out.writeByte(PARAMETER);
+                out.writeInt(node.slot());
+                out.writeInt(node.position());
+            });
+        }
+
+        private Void io(IoAction action) {
+            try {
+                action.run();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return null;
+        }
+    }
+
+    @FunctionalInterface
+    private interface IoAction {
+        void run() throws IOException;
+    }
+}
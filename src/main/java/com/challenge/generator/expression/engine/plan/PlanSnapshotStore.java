@@ -0,0 +1,81 @@
+package com.challenge.generator.expression.engine.plan;
+
+import com.challenge.generator.expression.engine.core.ExpressionEvaluator;
+import com.challenge.generator.expression.engine.core.ExpressionPlanCache;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Persists the plan cache to a binary snapshot so restarted nodes start with a warm cache.
+ * The snapshot is memory-mapped and loaded while the bean is created, i.e. before the application
+ * reports ready, and it is rewritten periodically and on shutdown. Opt-in with
+ * {@code expression.plan-store.enabled=true}, since it writes to disk.
+ */
+@Component
+@ConditionalOnProperty(name = "expression.plan-store.enabled", havingValue = "true")
+@Slf4j
+public class PlanSnapshotStore {
+
+    private final ExpressionPlanCache planCache;
+    private final Path snapshotPath;
+
+    public PlanSnapshotStore(ExpressionEvaluator expressionEvaluator,
+                             @Value("${expression.plan-store.path:data/plan-cache.bin}") String snapshotPath) {
+        this.planCache = expressionEvaluator.planCache();
+        this.snapshotPath = Path.of(snapshotPath);
+        load();
+    }
+
+    private void load() {
+        if (!Files.exists(snapshotPath)) {
+            return;
+        }
+        long start = System.nanoTime();
+        try (var channel = FileChannel.open(snapshotPath, StandardOpenOption.READ)) {
+            var buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            int loaded = planCache.preload(PlanSnapshotCodec.decode(buffer));
+            log.info("Loaded {} compiled plan(s) from {} in {} ms", loaded, snapshotPath, (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Ignoring unreadable plan snapshot {}: {}", snapshotPath, e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${expression.plan-store.save-interval:PT5M}",
+            initialDelayString = "${expression.plan-store.save-interval:PT5M}")
+    public void save() {
+        var plans = planCache.snapshot();
+        if (plans.isEmpty()) {
+            return;
+        }
+        try {
+            var parent = snapshotPath.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            var tempFile = Files.createTempFile(parent, "plan-cache", ".tmp");
+            try (var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+                PlanSnapshotCodec.encode(plans, out);
+            }
+            Files.move(tempFile, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.debug("Saved {} compiled plan(s) to {}", plans.size(), snapshotPath);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not save plan snapshot to {}: {}", snapshotPath, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void saveOnShutdown() {
+        save();
+    }
+}
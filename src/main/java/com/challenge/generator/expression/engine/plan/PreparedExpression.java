@@ -0,0 +1,20 @@
+package com.challenge.generator.expression.engine.plan;
+
+import com.challenge.generator.expression.engine.parser.ast.ExpressionNode;
+import com.challenge.generator.expression.engine.parser.token.Token;
+
+import java.util.List;
+
+/**
+ * A plan together with the literal tokens of the request that must be bound to its slots.
+ */
+public record PreparedExpression(CompiledPlan plan, List<Token> parameters) {
+
+    public static PreparedExpression of(CompiledPlan plan, ExpressionShape shape) {
+        return new PreparedExpression(plan, plan.parameterized() ? shape.literals() : List.of());
+    }
+
+    public ExpressionNode root() {
+        return plan.root();
+    }
+}
@@ -0,0 +1,38 @@
+package com.challenge.generator.e2e;
+
+import com.challenge.generator.base.BaseTest;
+import com.challenge.generator.expression.api.filter.AccessLogFilter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("E2E: Access Log")
+@TestPropertySource(properties = {
+        "expression.access-log.sample-rate=0",
+        "expression.access-log.slow-threshold=1h"
+})
+class AccessLogE2ETest extends BaseTest {
+
+    @Autowired
+    private AccessLogFilter accessLogFilter;
+
+    @Test
+    void generate_shouldSkipUnsampledRequestsAndAlwaysLogErrors() throws InterruptedException {
+        long before = accessLogFilter.loggedCount();
+
+        getOk(buildUri("firstName & '@example.com'", Map.of("firstName", "john")));
+        getBadRequest(buildUri("firstName & '@example.com'", Map.of()));
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (accessLogFilter.loggedCount() == before && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(before + 1, accessLogFilter.loggedCount());
+        assertEquals(0, accessLogFilter.droppedCount());
+    }
+}
@@ -0,0 +1,148 @@
+package com.challenge.generator.e2e;
+
+import com.challenge.generator.base.BaseTest;
+import com.challenge.generator.expression.api.controller.ExpressionController;
+import com.challenge.generator.expression.api.dto.CurlGenerationRequest;
+import com.challenge.generator.expression.api.dto.EmailListResponse;
+import com.challenge.generator.expression.api.service.EvaluationAdmission;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("E2E: Cost-Based Admission")
+@TestPropertySource(properties = {
+        "expression.admission.enabled=true",
+        "expression.admission.expensive-cost=100",
+        "expression.admission.max-cost=1000",
+        "expression.admission.expensive-concurrency=1"
+})
+class AdmissionE2ETest extends BaseTest {
+
+    private static final String CROSS_JOIN = "cross_join(split(a, ','), split(b, ','))";
+
+    @Autowired
+    private EvaluationAdmission evaluationAdmission;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void estimateCost_shouldSizeListsFromTheirInputs() {
+        var plan = expressionEvaluator.compile(CROSS_JOIN);
+
+        long small = evaluationAdmission.estimateCost(plan, Map.of("a", "x,y,z", "b", "1,2,3"));
+        long large = evaluationAdmission.estimateCost(plan, Map.of("a", list("x", 20), "b", list("y", 20)));
+
+        assertTrue(small < 100, "small cross join should be cheap, was " + small);
+        assertTrue(large >= 400 && large <= 1000, "20x20 cross join should be expensive, was " + large);
+    }
+
+    @Test
+    void estimateCost_shouldSplitInputsByTheExpressionsOwnDelimiter() {
+        var inputs = Map.<String, Object>of("a", list("x", 20).replace(',', ';'), "b", list("y", 20), "sep", ";");
+
+        long bySemicolon = evaluationAdmission.estimateCost(
+                expressionEvaluator.compile("cross_join(split(a, ';'), split(b, ','))"), inputs);
+        long byComma = evaluationAdmission.estimateCost(
+                expressionEvaluator.compile("cross_join(split(a, ','), split(b, ','))"), inputs);
+        long byInput = evaluationAdmission.estimateCost(
+                expressionEvaluator.compile("cross_join(split(a, sep), split(b, ','))"), inputs);
+
+        assertTrue(bySemicolon >= 400, "20x20 cross join should be expensive, was " + bySemicolon);
+        assertTrue(byComma < 100, "a holds no comma, so it splits into one value, was " + byComma);
+        // The delimiter is an input, so the first list falls back to the assumed size of 10.
+        assertTrue(byInput >= 200 && byInput < 400, "expected 10x20 rows, was " + byInput);
+    }
+
+    @Test
+    void listInputs_shouldBeSizedByTheirElements() {
+        var expression = "cross_join(a, b)";
+        double before = rejected("none", "over-budget");
+
+        long cost = evaluationAdmission.estimateCost(expressionEvaluator.compile(expression),
+                Map.of("a", elements("x", 20), "b", elements("y", 20)));
+        var curl = restTemplate.postForEntity("/generate-curl",
+                new CurlGenerationRequest(expression, Map.of("a", elements("x", 50), "b", elements("y", 50))), Map.class);
+
+        assertTrue(cost >= 400 && cost <= 1000, "20x20 cross join should be expensive, was " + cost);
+        assertEquals(HttpStatus.BAD_REQUEST, curl.getStatusCode());
+        assertEquals(before + 1, rejected("none", "over-budget"));
+    }
+
+    @Test
+    void generate_overBudget_shouldBeRejectedWithoutRunning() {
+        double before = rejected("none", "over-budget");
+
+        ResponseEntity<Map> response = restTemplate.getForEntity(
+                buildUri(CROSS_JOIN, Map.of("a", list("x", 50), "b", list("y", 50))), Map.class);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertTrue(String.valueOf(response.getBody().get("error")).contains("estimated cost"), String.valueOf(response.getBody()));
+        assertEquals(before + 1, rejected("none", "over-budget"));
+    }
+
+    @Test
+    void everyEvaluationPath_overBudget_shouldBeRejected() {
+        Map<String, Object> inputs = Map.of("a", list("x", 50), "b", list("y", 50));
+        var traceHeaders = new HttpHeaders();
+        traceHeaders.set(ExpressionController.TRACE_HEADER, "true");
+        var profileInputs = new HashMap<>(inputs);
+        profileInputs.put("profile", "true");
+
+        var profiled = restTemplate.getForEntity(buildUri(CROSS_JOIN, profileInputs), Map.class);
+        var traced = restTemplate.exchange(buildUri(CROSS_JOIN, inputs), HttpMethod.GET,
+                new HttpEntity<>(traceHeaders), Map.class);
+        var curl = restTemplate.postForEntity("/generate-curl", new CurlGenerationRequest(CROSS_JOIN, inputs), Map.class);
+
+        assertEquals(HttpStatus.BAD_REQUEST, profiled.getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, traced.getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, curl.getStatusCode());
+    }
+
+    @Test
+    void generate_whenExpensiveLaneIsFull_shouldRejectExpensiveButAdmitCheap() {
+        Map<String, Object> expensiveInputs = Map.of("a", list("x", 20), "b", list("y", 20));
+        double before = rejected("expensive", "saturated");
+
+        try (var ignored = evaluationAdmission.admit(expressionEvaluator.compile(CROSS_JOIN), expensiveInputs)) {
+            ResponseEntity<Map> rejected = restTemplate.getForEntity(buildUri(CROSS_JOIN, expensiveInputs), Map.class);
+            assertEquals(HttpStatus.SERVICE_UNAVAILABLE, rejected.getStatusCode());
+            assertEquals(before + 1, rejected("expensive", "saturated"));
+
+            EmailListResponse cheap = getOk(buildUri(CROSS_JOIN, Map.of("a", "x,y,z", "b", "1,2,3")));
+            assertEquals(9, cheap.data().size());
+        }
+
+        EmailListResponse afterRelease = getOk(buildUri(CROSS_JOIN, expensiveInputs));
+        assertEquals(400, afterRelease.data().size());
+        assertEquals(0, meterRegistry.get("expression.admission.active").tag("lane", "expensive").gauge().value());
+    }
+
+    private double rejected(String lane, String reason) {
+        return meterRegistry.get("expression.admission.rejected").tags("lane", lane, "reason", reason).counter().count();
+    }
+
+    private static List<String> elements(String prefix, int size) {
+        return IntStream.range(0, size).mapToObj(i -> prefix + i).toList();
+    }
+
+    private static String list(String prefix, int size) {
+        return IntStream.range(0, size).mapToObj(i -> prefix + i).collect(Collectors.joining(","));
+    }
+}
@@ -0,0 +1,83 @@
+package com.challenge.generator.e2e;
+
+import com.challenge.generator.base.BaseTest;
+import com.challenge.generator.expression.api.controller.ExpressionController;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("E2E: Evaluation Cancellation")
+@TestPropertySource(properties = "expression.cancellation.deadline=1ns")
+class CancellationE2ETest extends BaseTest {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void generate_pastDeadline_shouldBeCancelledAndCounted() {
+        double before = cancelled();
+
+        ResponseEntity<Map> response = restTemplate.getForEntity(
+                buildUri("cross_join(split(a, ','), split(b, ','))", Map.of("a", "x,y,z", "b", "1,2,3")), Map.class);
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertTrue(String.valueOf(response.getBody().get("error")).contains("deadline"), String.valueOf(response.getBody()));
+        // The filter counts once the chain has returned, which can be just after the client saw the response.
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (cancelled() == before && System.currentTimeMillis() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertEquals(before + 1, cancelled());
+    }
+
+    @Test
+    void generate_profileAndTrace_pastDeadline_shouldBeCancelled() {
+        var headers = new HttpHeaders();
+        headers.set(ExpressionController.TRACE_HEADER, "true");
+        var inputs = Map.of("a", "x,y,z", "b", "1,2,3");
+        var expression = "cross_join(split(a, ','), split(b, ','))";
+
+        ResponseEntity<Map> profiled = restTemplate.getForEntity(
+                buildUri(expression, Map.of("a", "x,y,z", "b", "1,2,3", "profile", "true")), Map.class);
+        ResponseEntity<Map> traced = restTemplate.exchange(buildUri(expression, inputs), HttpMethod.GET,
+                new HttpEntity<>(headers), Map.class);
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, profiled.getStatusCode());
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, traced.getStatusCode());
+    }
+
+    @Test
+    void generate_rejectedBeforeEvaluating_shouldNotCountTheExpiredDeadline() throws InterruptedException {
+        double before = cancelled();
+
+        ResponseEntity<Map> rejected = restTemplate.getForEntity(buildUri("'a@example.com'", Map.of()), Map.class);
+        assertEquals(HttpStatus.BAD_REQUEST, rejected.getStatusCode());
+        ResponseEntity<Map> cancelled = restTemplate.getForEntity(
+                buildUri("split(a, ',')", Map.of("a", "x,y,z")), Map.class);
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, cancelled.getStatusCode());
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (cancelled() == before && System.currentTimeMillis() < deadline) {
+            Thread.onSpinWait();
+        }
+        // Give a wrongly counted validation failure the same time to show up.
+        Thread.sleep(200);
+        assertEquals(before + 1, cancelled());
+    }
+
+    private double cancelled() {
+        return meterRegistry.get("expression.evaluation.cancelled").tag("reason", "deadline").counter().count();
+    }
+}
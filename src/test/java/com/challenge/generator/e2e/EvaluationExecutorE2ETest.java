@@ -0,0 +1,92 @@
+package com.challenge.generator.e2e;
+
+import com.challenge.generator.base.BaseTest;
+import com.challenge.generator.expression.api.dto.EmailListResponse;
+import com.challenge.generator.expression.api.exception.ServiceUnavailableException;
+import com.challenge.generator.expression.api.service.EvaluationExecutor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("E2E: Evaluation Executor")
+@TestPropertySource(properties = {
+        "spring.threads.virtual.enabled=true",
+        "expression.evaluation-executor.enabled=true",
+        "expression.evaluation-executor.threads=1",
+        "expression.evaluation-executor.queue-capacity=1"
+})
+class EvaluationExecutorE2ETest extends BaseTest {
+
+    @Autowired
+    private EvaluationExecutor evaluationExecutor;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void generate_shouldEvaluateOnExecutorAndKeepRequestAccounting() {
+        var headers = new HttpHeaders();
+        headers.set("X-Client-Id", "team-bulkhead");
+
+        EmailListResponse response = restTemplate.exchange(
+                buildUri("cross_join(split(a, ','), split(b, ','))", Map.of("a", "x,y", "b", "1,2")),
+                HttpMethod.GET, new HttpEntity<>(headers), EmailListResponse.class).getBody();
+
+        assertNotNull(response);
+        assertEquals(4, response.data().size());
+        assertTrue(evaluationExecutor.isEnabled());
+        assertTrue(meterRegistry.get("executor.completed").tag("name", "expression.evaluation")
+                .functionCounter().count() >= 1);
+        assertEquals(1, meterRegistry.get("expression.request.cpu")
+                .tags("client", "team-bulkhead", "phase", "evaluate").timer().count());
+    }
+
+    @Test
+    void execute_whenQueueIsFull_shouldRejectInsteadOfWaiting() throws Exception {
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        double rejectedBefore = meterRegistry.get("expression.evaluation.rejected").counter().count();
+
+        try (var callers = createFixedThreadPool(2)) {
+            Future<String> running = callers.executor().submit(() -> evaluationExecutor.execute(() -> {
+                started.countDown();
+                await(release);
+                return "running";
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            Future<String> queued = callers.executor().submit(() -> evaluationExecutor.execute(() -> "queued"));
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (meterRegistry.get("executor.queued").tag("name", "expression.evaluation").gauge().value() < 1
+                    && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+
+            assertThrows(ServiceUnavailableException.class, () -> evaluationExecutor.execute(() -> "rejected"));
+            assertEquals(rejectedBefore + 1, meterRegistry.get("expression.evaluation.rejected").counter().count());
+
+            release.countDown();
+            assertEquals("running", running.get(5, TimeUnit.SECONDS));
+            assertEquals("queued", queued.get(5, TimeUnit.SECONDS));
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.challenge.generator.e2e;
+
+import com.challenge.generator.base.BaseTest;
+import com.challenge.generator.expression.api.dto.ExplainRequest;
+import com.challenge.generator.expression.engine.model.DataType;
+import com.challenge.generator.expression.engine.plan.ExpressionExplanation;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("E2E: Explain")
+class ExplainE2ETest extends BaseTest {
+
+    @Test
+    void explain_shouldReturnAstPlanTypesAndEstimates() {
+        int cachedPlans = expressionEvaluator.planCache().size();
+
+        ResponseEntity<ExpressionExplanation> response = restTemplate.postForEntity("/explain",
+                new ExplainRequest("cross_join(split(a, ','), split(b, ','), '@example.com')", 5L), ExpressionExplanation.class);
+
+        assertTrue(response.getStatusCode().is2xxSuccessful());
+        ExpressionExplanation explanation = response.getBody();
+        assertNotNull(explanation);
+        assertTrue(explanation.parameterized());
+        assertEquals(List.of(",", ",", "@example.com"), explanation.parameters());
+        assertEquals(25, explanation.estimatedRows());
+
+        assertEquals("function", explanation.plan().node());
+        assertEquals(DataType.LIST, explanation.plan().type());
+        assertEquals("parameter", explanation.plan().children().get(2).node());
+        assertEquals("literal", explanation.ast().children().get(2).node());
+        assertEquals(DataType.STRING, explanation.ast().children().get(2).type());
+        assertEquals(cachedPlans, expressionEvaluator.planCache().size(), "explain must not populate the plan cache");
+    }
+
+    @Test
+    void explain_shouldUseConfiguredListSizeByDefault() {
+        ExpressionExplanation explanation = restTemplate.postForObject("/explain",
+                new ExplainRequest("split(names, ',') & '@example.com'", null), ExpressionExplanation.class);
+
+        assertNotNull(explanation);
+        assertEquals(DataType.STRING, explanation.plan().type());
+        assertEquals(1, explanation.estimatedRows());
+        assertEquals(10, explanation.plan().children().getFirst().estimatedRows());
+    }
+
+    @Test
+    void estimate_shouldTypeBoundLiteralsTheWayExplainDoes() {
+        for (String expression : List.of("2.0 + 1", "substring(name, 0, 2) & '@example.com'")) {
+            var estimate = expressionEvaluator.estimate(expressionEvaluator.compile(expression), 10, (input, delimiter) -> -1);
+
+            assertEquals(expressionEvaluator.explain(expression, 10).plan(), estimate, expression);
+        }
+    }
+
+    @Test
+    void explain_shouldRejectUnknownFunction() {
+        ResponseEntity<Map> response = restTemplate.postForEntity("/explain",
+                new ExplainRequest("nope(a)", null), Map.class);
+
+        assertEquals(400, response.getStatusCode().value());
+    }
+}
@@ -0,0 +1,120 @@
+package com.challenge.generator.e2e;
+
+import com.challenge.generator.base.BaseTest;
+import com.challenge.generator.expression.api.dto.EmailListResponse;
+import com.challenge.generator.expression.api.dto.ExpressionRegistrationRequest;
+import com.challenge.generator.expression.api.dto.ExpressionRegistrationResponse;
+import com.challenge.generator.expression.api.exception.NotFoundException;
+import com.challenge.generator.expression.api.exception.ValidationException;
+import com.challenge.generator.expression.api.service.ExpressionPreprocessor;
+import com.challenge.generator.expression.api.service.RegisteredExpressionService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("E2E: Registered Expressions")
+class RegisteredExpressionE2ETest extends BaseTest {
+
+    @Autowired
+    private ExpressionPreprocessor expressionPreprocessor;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void registeredExpression_shouldBeExecutableById() {
+        ExpressionRegistrationResponse registration = register("firstName & '.' & lastName & '@example.com'");
+        assertNotNull(registration.id());
+
+        URI uri = buildRegisteredUri(registration.id(), Map.of("firstName", "john", "lastName", "doe"));
+        EmailListResponse body = getOk(uri);
+
+        assertEquals(1, body.data().size());
+        assertEquals("john.doe@example.com", body.data().getFirst().value());
+    }
+
+    @Test
+    void registration_shouldPreprocessAndReturnStableId() {
+        ExpressionRegistrationResponse first = register("firstName lastName");
+        ExpressionRegistrationResponse second = register("firstName lastName");
+
+        assertEquals(first.id(), second.id());
+        assertEquals("firstName + lastName", first.expression());
+    }
+
+    @Test
+    void unknownExpressionId_shouldReturnNotFound() {
+        URI uri = buildRegisteredUri("does-not-exist", Map.of("firstName", "john"));
+        ResponseEntity<Map> response = restTemplate.getForEntity(uri, Map.class);
+
+        assertEquals(404, response.getStatusCode().value());
+        assertNotNull(response.getBody());
+        assertTrue(String.valueOf(response.getBody().get("error")).contains("does-not-exist"));
+    }
+
+    @Test
+    void expressionAndExpressionId_shouldBeRejected() {
+        String id = register("firstName & '@example.com'").id();
+        URI uri = UriComponentsBuilder.fromPath("/generate")
+                .queryParam("expression", "lastName & '@example.com'")
+                .queryParam("expressionId", id)
+                .queryParam("firstName", "john")
+                .queryParam("lastName", "doe")
+                .build().encode().toUri();
+
+        Map<?, ?> body = getBadRequest(uri);
+
+        assertTrue(String.valueOf(body.get("error")).contains("not both"), String.valueOf(body));
+    }
+
+    @Test
+    void registration_whenRegistryIsFull_shouldRejectNewExpressions(@TempDir Path directory) {
+        var service = new RegisteredExpressionService(expressionEvaluator, expressionPreprocessor, objectMapper,
+                directory.resolve("registered-expressions.json").toString(), 1);
+        var first = service.register("firstName & '@example.com'");
+
+        assertEquals(first.id(), service.register("firstName & '@example.com'").id());
+        assertThrows(ValidationException.class, () -> service.register("lastName & '@example.com'"));
+    }
+
+    @Test
+    void registration_whenPersistingFails_shouldNotPublishTheExpression(@TempDir Path directory) throws IOException {
+        // A regular file where the store's directory should be makes every write fail.
+        var blocked = Files.createFile(directory.resolve("blocked"));
+        var service = new RegisteredExpressionService(expressionEvaluator, expressionPreprocessor, objectMapper,
+                blocked.resolve("registered-expressions.json").toString(), 10);
+
+        assertThrows(UncheckedIOException.class, () -> service.register("firstName & '@example.com'"));
+
+        String id = register("firstName & '@example.com'").id();
+        assertThrows(NotFoundException.class, () -> service.plan(id));
+    }
+
+    private ExpressionRegistrationResponse register(String expression) {
+        ResponseEntity<ExpressionRegistrationResponse> response = restTemplate.postForEntity(
+                "/expressions", new ExpressionRegistrationRequest(expression), ExpressionRegistrationResponse.class);
+        assertTrue(response.getStatusCode().is2xxSuccessful(), "Expected 2xx status");
+        assertNotNull(response.getBody());
+        return response.getBody();
+    }
+
+    private URI buildRegisteredUri(String expressionId, Map<String, ?> params) {
+        UriComponentsBuilder builder = UriComponentsBuilder.fromPath("/generate")
+                .queryParam("expressionId", expressionId);
+        params.forEach(builder::queryParam);
+        return builder.build().encode().toUri();
+    }
+}
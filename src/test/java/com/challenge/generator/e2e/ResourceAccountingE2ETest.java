@@ -0,0 +1,84 @@
+package com.challenge.generator.e2e;
+
+import com.challenge.generator.base.BaseTest;
+import com.challenge.generator.expression.api.dto.EmailListResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("E2E: Resource Accounting")
+@TestPropertySource(properties = "expression.accounting.response-headers=true")
+class ResourceAccountingE2ETest extends BaseTest {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void generate_shouldAccountCpuAndAllocationsToClient() {
+        var headers = new HttpHeaders();
+        headers.set("X-Client-Id", "team-accounting");
+
+        ResponseEntity<EmailListResponse> response = restTemplate.exchange(
+                buildUri("cross_join(split(a, ','), split(b, ','))", Map.of("a", "x,y,z", "b", "1,2,3")),
+                HttpMethod.GET, new HttpEntity<>(headers), EmailListResponse.class);
+
+        assertTrue(response.getStatusCode().is2xxSuccessful());
+        assertNotNull(response.getBody());
+        assertEquals(9, response.getBody().data().size());
+        assertTrue(Long.parseLong(response.getHeaders().getFirst("X-Allocated-Bytes")) > 0);
+        assertTrue(Long.parseLong(response.getHeaders().getFirst("X-Cpu-Time-Micros")) >= 0);
+
+        for (String phase : new String[]{"evaluate", "serialize"}) {
+            assertEquals(1, meterRegistry.get("expression.request.cpu")
+                    .tags("client", "team-accounting", "phase", phase).timer().count());
+            assertTrue(meterRegistry.get("expression.request.allocated")
+                    .tags("client", "team-accounting", "phase", phase).summary().totalAmount() > 0);
+        }
+    }
+
+    @Test
+    void stream_shouldAccountEvaluationOnceTheResponseCompletes() throws InterruptedException {
+        var headers = new HttpHeaders();
+        headers.set("X-Client-Id", "team-streaming");
+        URI uri = UriComponentsBuilder.fromPath("/generate/stream")
+                .queryParam("expression", "cross_join(split(a, ','), split(b, ','))")
+                .queryParam("a", "x,y,z")
+                .queryParam("b", "1,2,3")
+                .build().encode().toUri();
+
+        ResponseEntity<String> response = restTemplate.exchange(uri, HttpMethod.GET, new HttpEntity<>(headers),
+                String.class);
+
+        assertTrue(response.getStatusCode().is2xxSuccessful());
+        assertNull(response.getHeaders().getFirst("X-Allocated-Bytes"));
+        // The stream is recorded when the container completes the async request, just after the body is sent.
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (meterRegistry.find("expression.request.cpu").tags("client", "team-streaming").timer() == null
+                && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(meterRegistry.get("expression.request.allocated")
+                .tags("client", "team-streaming", "phase", "evaluate").summary().totalAmount() > 0);
+    }
+
+    @Test
+    void generate_withoutClientHeader_shouldBeTaggedUnknown() {
+        getOk(buildUri("firstName & '@example.com'", Map.of("firstName", "john")));
+
+        assertTrue(meterRegistry.get("expression.request.cpu")
+                .tags("client", "unknown", "phase", "evaluate").timer().count() > 0);
+    }
+}
@@ -0,0 +1,71 @@
+package com.challenge.generator.e2e;
+
+import com.challenge.generator.base.BaseTest;
+import com.challenge.generator.expression.api.dto.EmailListResponse;
+import com.challenge.generator.expression.api.filter.ServerTimingFilter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.URI;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("E2E: Server-Timing Header")
+class ServerTimingE2ETest extends BaseTest {
+
+    private static final String EXPRESSION = "split(names, ',') & '@example.com'";
+    private static final Map<String, String> INPUTS = Map.of("names", "ann,bob,cid");
+
+    @Test
+    void requestHeader_shouldEnableServerTimingBreakdown() {
+        var headers = new HttpHeaders();
+        headers.set(ServerTimingFilter.REQUEST_HEADER, "true");
+
+        ResponseEntity<EmailListResponse> response = restTemplate.exchange(
+                buildUri(EXPRESSION, INPUTS), HttpMethod.GET, new HttpEntity<>(headers), EmailListResponse.class);
+
+        assertTrue(response.getStatusCode().is2xxSuccessful());
+        String timing = response.getHeaders().getFirst("Server-Timing");
+        assertNotNull(timing);
+        for (String metric : new String[]{"preprocess;dur=", "tokenize;dur=", "parse;dur=", "evaluate;dur=", "serialize;dur=", "total;dur="}) {
+            assertTrue(timing.contains(metric), () -> "Missing " + metric + " in " + timing);
+        }
+        assertTrue(timing.contains("results;desc=\"3\""), timing);
+        assertNotNull(response.getBody());
+        assertEquals(3, response.getBody().data().size());
+    }
+
+    @Test
+    void stream_shouldEmitServerTimingWithoutBufferingTheBody() {
+        var headers = new HttpHeaders();
+        headers.set(ServerTimingFilter.REQUEST_HEADER, "true");
+        URI uri = UriComponentsBuilder.fromPath("/generate/stream")
+                .queryParam("expression", EXPRESSION)
+                .queryParam("names", INPUTS.get("names"))
+                .build().encode().toUri();
+
+        ResponseEntity<String> response = restTemplate.exchange(uri, HttpMethod.GET, new HttpEntity<>(headers), String.class);
+
+        assertTrue(response.getStatusCode().is2xxSuccessful());
+        String timing = response.getHeaders().getFirst("Server-Timing");
+        assertNotNull(timing);
+        assertTrue(timing.contains("parse;dur="), timing);
+        assertNotNull(response.getBody());
+        assertEquals(3, response.getBody().lines().count());
+    }
+
+    @Test
+    void withoutRequestHeader_shouldNotEmitServerTiming() {
+        ResponseEntity<EmailListResponse> response = restTemplate.getForEntity(
+                buildUri(EXPRESSION, INPUTS), EmailListResponse.class);
+
+        assertTrue(response.getStatusCode().is2xxSuccessful());
+        assertNull(response.getHeaders().getFirst("Server-Timing"));
+    }
+}
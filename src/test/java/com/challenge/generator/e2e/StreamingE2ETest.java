@@ -0,0 +1,102 @@
+package com.challenge.generator.e2e;
+
+import com.challenge.generator.base.BaseTest;
+import com.challenge.generator.expression.api.dto.EmailData;
+import com.challenge.generator.expression.api.dto.EmailListResponse;
+import com.challenge.generator.expression.api.metrics.ExpressionStats;
+import com.challenge.generator.expression.api.metrics.ExpressionStatsRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("E2E: Streaming Generation")
+class StreamingE2ETest extends BaseTest {
+
+    @Autowired
+    private ExpressionStatsRegistry statsRegistry;
+
+    @Test
+    void stream_shouldEmitTheSameResultsOnePerLine() {
+        String expression = "cross_join(split(a, ','), '.', split(b, ','), '@example.com')";
+        Map<String, String> inputs = Map.of("a", "ann,bob,cid", "b", "lee,ray");
+
+        ResponseEntity<String> response = restTemplate.getForEntity(streamUri(expression, inputs), String.class);
+        EmailListResponse buffered = getOk(buildUri(expression, inputs));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertTrue(MediaType.TEXT_PLAIN.isCompatibleWith(response.getHeaders().getContentType()));
+        assertNotNull(response.getBody());
+        assertEquals(buffered.data().stream().map(EmailData::value).toList(), response.getBody().lines().toList());
+        assertEquals(6, response.getBody().lines().count());
+    }
+
+    @Test
+    void stream_longerThanOneChunk_shouldEmitEveryRowInOrder() {
+        String expression = "cross_join(split(a, ','), split(b, ','))";
+        Map<String, String> inputs = Map.of("a", list("x", 30), "b", list("y", 20));
+
+        ResponseEntity<String> response = restTemplate.getForEntity(streamUri(expression, inputs), String.class);
+        EmailListResponse buffered = getOk(buildUri(expression, inputs));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals(600, response.getBody().lines().count());
+        assertEquals(buffered.data().stream().map(EmailData::value).toList(), response.getBody().lines().toList());
+    }
+
+    @Test
+    void stream_shouldReportItsSizeToExpressionStatsOnceItEnds() {
+        String expression = "cross_join(split(s, ','), '#', split(t, ','))";
+        Map<String, String> inputs = Map.of("s", list("s", 40), "t", list("t", 10));
+        String fingerprint = expressionEvaluator.compile(expression).fingerprint();
+
+        ResponseEntity<String> response = restTemplate.getForEntity(streamUri(expression, inputs), String.class);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
+        long streamed = response.getBody().getBytes(StandardCharsets.UTF_8).length;
+        // The stream completes just after the client saw its last row.
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (totalBytes(fingerprint) < streamed && System.currentTimeMillis() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertEquals(streamed, totalBytes(fingerprint));
+    }
+
+    @Test
+    void stream_withoutInputs_shouldBeRejected() {
+        ResponseEntity<String> response = restTemplate.getForEntity(streamUri("'a@example.com'", Map.of()), String.class);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+
+    private long totalBytes(String fingerprint) {
+        return statsRegistry.top(Integer.MAX_VALUE).stream()
+                .filter(stats -> stats.fingerprint().equals(fingerprint))
+                .mapToLong(ExpressionStats::totalBytes)
+                .sum();
+    }
+
+    private static String list(String prefix, int size) {
+        return IntStream.range(0, size).mapToObj(i -> prefix + i).collect(Collectors.joining(","));
+    }
+
+    private static URI streamUri(String expression, Map<String, String> params) {
+        UriComponentsBuilder builder = UriComponentsBuilder.fromPath("/generate/stream")
+                .queryParam("expression", expression);
+        params.forEach(builder::queryParam);
+        return builder.build().encode().toUri();
+    }
+}
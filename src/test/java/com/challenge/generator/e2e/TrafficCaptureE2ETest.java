@@ -0,0 +1,91 @@
+package com.challenge.generator.e2e;
+
+import com.challenge.generator.base.BaseTest;
+import com.challenge.generator.config.CaptureProperties;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("E2E: Traffic Capture")
+@TestPropertySource(properties = {
+        "expression.capture.enabled=true",
+        "expression.capture.sample-rate=1.0",
+        "expression.capture.directory=build/test-data/capture"
+})
+class TrafficCaptureE2ETest extends BaseTest {
+
+    private static final Path CAPTURE_DIR = Path.of("build/test-data/capture");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void sampleRate_ofZero_shouldCaptureNothing() {
+        assertEquals(0.0, new CaptureProperties(0.0, null, 0, 0, 0).sampleRate());
+        assertEquals(CaptureProperties.DEFAULT_SAMPLE_RATE, new CaptureProperties(null, null, 0, 0, 0).sampleRate());
+    }
+
+    @Test
+    void sampledRequests_shouldBeWrittenAsJsonLines() throws InterruptedException {
+        String marker = UUID.randomUUID().toString();
+        for (int i = 0; i < 5; i++) {
+            getOk(buildUri("firstName & '.' & lastName & '@example.com'",
+                    Map.of("firstName", "user" + i, "lastName", "smith", "marker", marker)));
+        }
+
+        List<JsonNode> captured = List.of();
+        for (int attempt = 0; attempt < 50 && captured.size() < 5; attempt++) {
+            Thread.sleep(100);
+            captured = capturedWith(marker);
+        }
+
+        assertEquals(5, captured.size());
+        JsonNode first = captured.getFirst();
+        assertEquals("firstName & '.' & lastName & '@example.com'", first.path("expression").asText());
+        assertEquals("smith", first.path("inputs").path("lastName").asText());
+        assertTrue(first.path("timestamp").asLong() > 0);
+    }
+
+    private List<JsonNode> capturedWith(String marker) {
+        if (!Files.isDirectory(CAPTURE_DIR)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(CAPTURE_DIR)) {
+            return files.filter(file -> file.toString().endsWith(".jsonl"))
+                    .flatMap(this::lines)
+                    .filter(line -> line.contains(marker))
+                    .map(this::parse)
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Stream<String> lines(Path file) {
+        try {
+            return Files.readAllLines(file).stream();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private JsonNode parse(String line) {
+        try {
+            return objectMapper.readTree(line);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.challenge.generator.integration;
+
+import com.challenge.generator.base.BaseTest;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Evaluation Metrics Tests")
+class EvaluationMetricsTest extends BaseTest {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void generateRequest_shouldRecordPhaseFunctionAndSizeMetrics() {
+        long evaluationsBefore = phaseCount("evaluate");
+        long splitsBefore = functionCount("split");
+
+        getOk(buildUri("split(names, ',') & '@example.com'", Map.of("names", "ann,bob,cid")));
+
+        assertTrue(phaseCount("preprocess") > 0);
+        assertTrue(phaseCount("tokenize") > 0);
+        assertEquals(evaluationsBefore + 1, phaseCount("evaluate"));
+        assertTrue(phaseCount("serialize") > 0);
+        assertEquals(splitsBefore + 1, functionCount("split"));
+        assertTrue(meterRegistry.get("expression.results").summary().count() > 0);
+        assertTrue(meterRegistry.get("expression.response.size").summary().totalAmount() > 0);
+    }
+
+    @Test
+    void largeCrossJoin_evaluateTimer_shouldCoverBuildingTheRows() {
+        var evaluate = meterRegistry.get("expression.phase").tag("phase", "evaluate").timer();
+        var values = String.join(",", Collections.nCopies(500, "x"));
+        var plan = expressionEvaluator.compile("cross_join(split(a, ','), split(b, ','))");
+        double evaluatedBefore = evaluate.totalTime(TimeUnit.NANOSECONDS);
+
+        long start = System.nanoTime();
+        var results = expressionEvaluator.execute(plan, Map.of("a", values, "b", values));
+        long characters = results.stream().mapToLong(String::length).sum();
+        long elapsed = System.nanoTime() - start;
+
+        assertEquals(500_000L, characters);
+        // Reading the results must not be where the rows are built, or the timer would only see the setup.
+        double evaluated = evaluate.totalTime(TimeUnit.NANOSECONDS) - evaluatedBefore;
+        assertTrue(evaluated >= elapsed / 2.0, "evaluate recorded " + evaluated + "ns of " + elapsed + "ns");
+    }
+
+    private long phaseCount(String phase) {
+        return meterRegistry.get("expression.phase").tag("phase", phase).timer().count();
+    }
+
+    private long functionCount(String function) {
+        return meterRegistry.get("expression.function").tag("function", function).timer().count();
+    }
+}
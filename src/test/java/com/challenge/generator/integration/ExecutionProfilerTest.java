@@ -0,0 +1,60 @@
+package com.challenge.generator.integration;
+
+import com.challenge.generator.base.BaseTest;
+import com.challenge.generator.expression.api.dto.EmailGenerationRequest;
+import com.challenge.generator.expression.api.metrics.ExecutionProfiler;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Execution Profiler Tests")
+class ExecutionProfilerTest extends BaseTest {
+
+    @Autowired
+    private ExecutionProfiler profiler;
+
+    @Test
+    void profile_shouldReturnCollapsedEngineStacksAndLimitSessions() throws Exception {
+        var running = new AtomicBoolean(true);
+        var request = new EmailGenerationRequest("cross_join(split(a, ','), split(b, ','))",
+                Map.of("a", "w,x,y,z", "b", "1,2,3,4"));
+        var load = CompletableFuture.runAsync(() -> {
+            while (running.get()) {
+                expressionEvaluator.generateResults(request);
+            }
+        });
+
+        try {
+            var session = CompletableFuture.supplyAsync(() -> profile(Duration.ofSeconds(2)));
+            Thread.sleep(300);
+            assertTrue(profiler.profile(Duration.ofSeconds(1)).isEmpty(), "second session must be rejected");
+
+            String stacks = session.get().orElseThrow();
+            assertFalse(stacks.isBlank(), "expected engine samples");
+            for (String line : stacks.split("\n")) {
+                assertTrue(line.startsWith("com.challenge.generator.expression."), line);
+                assertTrue(line.matches(".* \\d+$"), line);
+            }
+        } finally {
+            running.set(false);
+            load.join();
+        }
+    }
+
+    private Optional<String> profile(Duration duration) {
+        try {
+            return profiler.profile(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
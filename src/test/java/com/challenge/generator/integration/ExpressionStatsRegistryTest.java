@@ -0,0 +1,101 @@
+package com.challenge.generator.integration;
+
+import com.challenge.generator.base.BaseTest;
+import com.challenge.generator.expression.api.dto.EmailData;
+import com.challenge.generator.expression.api.dto.EmailListResponse;
+import com.challenge.generator.expression.api.metrics.ExpressionStats;
+import com.challenge.generator.expression.api.metrics.ExpressionStatsRegistry;
+import com.challenge.generator.expression.engine.parser.ast.IdentifierNode;
+import com.challenge.generator.expression.engine.plan.CompiledPlan;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Expression Stats Registry Tests")
+class ExpressionStatsRegistryTest extends BaseTest {
+
+    @Autowired
+    private ExpressionStatsRegistry registry;
+
+    @Autowired
+    private MappingJackson2HttpMessageConverter jsonConverter;
+
+    @BeforeEach
+    void reset() {
+        registry.reset();
+    }
+
+    @Test
+    void requests_shouldAggregatePerNormalizedExpression() {
+        getOk(buildUri("split(names, ',') & '@example.com'", Map.of("names", "ann,bob")));
+        getOk(buildUri("split(names, ';') & '@example.org'", Map.of("names", "cid;dan")));
+        getOk(buildUri("zip(split(first, ','), '.', split(last, ','))", Map.of("first", "a,b,c", "last", "x,y,z")));
+
+        assertEquals(2, registry.size());
+        ExpressionStats split = registry.top(10).stream()
+                .filter(stats -> stats.expression().startsWith("split"))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(2, split.calls());
+        assertEquals(2, split.totalResults());
+        assertTrue(split.totalBytes() > 0);
+        assertTrue(split.maxMillis() > 0);
+        assertEquals(split.totalMillis() / 2, split.meanMillis(), 1e-9);
+
+        var top = registry.top(10);
+        assertTrue(top.get(0).totalMillis() >= top.get(1).totalMillis());
+        assertEquals(1, registry.top(1).size());
+    }
+
+    @Test
+    void reset_shouldClearStatistics() {
+        getOk(buildUri("firstName & '@example.com'", Map.of("firstName", "john")));
+        assertEquals(1, registry.size());
+
+        registry.reset();
+
+        assertEquals(0, registry.size());
+        assertTrue(registry.top(10).isEmpty());
+    }
+
+    @Test
+    void failedResponseWrite_shouldStillForgetTheThreadsExpression() {
+        var results = expressionEvaluator.execute(expressionEvaluator.compile("split(names, ',') & '@example.com'"),
+                Map.of("names", "ann,bob"));
+        assertNotNull(registry.capture());
+
+        var brokenPipe = new MockHttpOutputMessage() {
+            @Override
+            public OutputStream getBody() {
+                throw new UncheckedIOException(new IOException("Broken pipe"));
+            }
+        };
+        var response = new EmailListResponse(results.stream().map(EmailData::from).toList());
+        assertThrows(UncheckedIOException.class, () -> jsonConverter.write(response, MediaType.APPLICATION_JSON, brokenPipe));
+
+        assertNull(registry.capture());
+        assertEquals(0, registry.top(1).getFirst().totalBytes());
+    }
+
+    @Test
+    void newEntries_shouldEvictColdEntriesBeyondLimit() {
+        var bounded = new ExpressionStatsRegistry(10);
+        for (int i = 0; i < 100; i++) {
+            bounded.onEvaluation(new CompiledPlan("name" + i, new IdentifierNode("name" + i, 0), true), 1_000, 1);
+        }
+
+        assertTrue(bounded.size() <= 10, "size was " + bounded.size());
+        assertTrue(bounded.top(10).stream().anyMatch(stats -> stats.expression().equals("name99")));
+    }
+}
@@ -0,0 +1,63 @@
+package com.challenge.generator.integration;
+
+import com.challenge.generator.base.BaseTest;
+import com.challenge.generator.config.WarmupProperties;
+import com.challenge.generator.expression.api.service.ExpressionWarmup;
+import com.challenge.generator.expression.engine.core.EvaluationListener;
+import com.challenge.generator.expression.engine.core.EvaluationPhase;
+import com.challenge.generator.expression.engine.core.ExpressionEvaluator;
+import com.challenge.generator.expression.engine.plan.CompiledPlan;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.DefaultApplicationArguments;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Expression Warm-up Tests")
+class ExpressionWarmupTest extends BaseTest {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void warmup_shouldReplayCorpusAndHotExpressions() {
+        var evaluator = new ExpressionEvaluator(grammar, functionRegistry, tokenizer);
+        var hot = new WarmupProperties.HotExpression("firstName & '.' & lastName", Map.of("firstName", "a", "lastName", "b"));
+        var warmup = new ExpressionWarmup(evaluator, objectMapper, new WarmupProperties(2, "request-examples", List.of(hot)));
+
+        warmup.run(new DefaultApplicationArguments());
+
+        assertTrue(warmup.getLastDuration().toNanos() > 0);
+        assertTrue(evaluator.planCache().size() > 1, "Corpus expressions should have been compiled");
+    }
+
+    @Test
+    void warmup_shouldNotReportToTheEvaluationListener() {
+        var reported = new AtomicInteger();
+        var listener = new EvaluationListener() {
+            @Override
+            public void onPhase(EvaluationPhase phase, long nanos) {
+                reported.incrementAndGet();
+            }
+
+            @Override
+            public void onEvaluation(CompiledPlan plan, long nanos, int resultCount) {
+                reported.incrementAndGet();
+            }
+        };
+        var evaluator = new ExpressionEvaluator(grammar, functionRegistry, tokenizer, 100, listener);
+        var hot = new WarmupProperties.HotExpression("firstName & '.' & lastName", Map.of("firstName", "a", "lastName", "b"));
+        var warmup = new ExpressionWarmup(evaluator, objectMapper, new WarmupProperties(2, "request-examples", List.of(hot)));
+
+        warmup.run(new DefaultApplicationArguments());
+
+        assertTrue(evaluator.planCache().size() > 1, "Warm-up should still populate the shared plan cache");
+        assertEquals(0, reported.get());
+    }
+}
@@ -0,0 +1,131 @@
+package com.challenge.generator.integration;
+
+import com.challenge.generator.base.BaseTest;
+import com.challenge.generator.expression.api.dto.EmailData;
+import com.challenge.generator.expression.api.dto.EmailListResponse;
+import com.challenge.generator.expression.engine.jfr.ExpressionEvents;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("JFR Events")
+class JfrEventsTest extends BaseTest {
+
+    private static final String PREFIX = "com.challenge.generator.";
+
+    @Autowired
+    private MappingJackson2HttpMessageConverter jsonConverter;
+
+    @Test
+    void generate_shouldRecordPhaseEventsWithSharedFingerprint() throws IOException {
+        // A unique literal-free shape guarantees a plan cache miss, so the parse event is recorded too.
+        String variable = "v" + UUID.randomUUID().toString().replace("-", "");
+        String expression = "cross_join(split(" + variable + ", ','), '@example.com')";
+
+        List<RecordedEvent> events;
+        try (var recording = new Recording()) {
+            for (String event : List.of("ExpressionParse", "ExpressionCompile", "ExpressionEvaluate", "ResponseWrite")) {
+                recording.enable(PREFIX + event);
+            }
+            recording.enable(PREFIX + "FunctionInvocation").withThreshold(Duration.ZERO);
+            recording.start();
+            EmailListResponse body = getOk(buildUri(expression, Map.of(variable, "ann,bob")));
+            assertEquals(2, body.data().size());
+            recording.stop();
+
+            Path file = Files.createTempFile("generator", ".jfr");
+            try {
+                recording.dump(file);
+                events = RecordingFile.readAllEvents(file);
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        }
+
+        RecordedEvent parse = single(events, "ExpressionParse");
+        String fingerprint = parse.getString("fingerprint");
+        assertNotNull(fingerprint);
+        assertFalse(single(events, "ExpressionCompile", fingerprint).getBoolean("cacheHit"));
+
+        RecordedEvent evaluate = single(events, "ExpressionEvaluate", fingerprint);
+        assertEquals(2, evaluate.getInt("resultCount"));
+
+        RecordedEvent write = single(events, "ResponseWrite", fingerprint);
+        assertEquals(2, write.getInt("resultCount"));
+        assertTrue(write.getLong("byteSize") > 0);
+
+        assertTrue(events.stream().anyMatch(event -> is(event, "FunctionInvocation", fingerprint)
+                && "cross_join".equals(event.getString("function"))));
+    }
+
+    @Test
+    void sequentialRequestsOnOneThread_shouldNotShareFingerprint() throws IOException {
+        var plan = expressionEvaluator.compile("cross_join(split(names, ','), '@example.com')");
+
+        List<RecordedEvent> events;
+        try (var recording = new Recording()) {
+            recording.enable(PREFIX + "ExpressionEvaluate");
+            recording.enable(PREFIX + "ResponseWrite");
+            recording.start();
+            // The first request evaluates and writes its response, the second fails before evaluating and
+            // writes its response only, as both would on a pooled request thread.
+            var results = expressionEvaluator.execute(plan, Map.of("names", "ann,bob"));
+            write(new EmailListResponse(results.stream().map(EmailData::from).toList()));
+            assertNull(ExpressionEvents.currentFingerprint());
+            write(new EmailListResponse(List.of()));
+            recording.stop();
+
+            Path file = Files.createTempFile("generator", ".jfr");
+            try {
+                recording.dump(file);
+                events = RecordingFile.readAllEvents(file);
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        }
+
+        String fingerprint = single(events, "ExpressionEvaluate").getString("fingerprint");
+        var writes = events.stream()
+                .filter(event -> event.getEventType().getName().equals(PREFIX + "ResponseWrite"))
+                .sorted(Comparator.comparing(RecordedEvent::getStartTime))
+                .toList();
+        assertEquals(2, writes.size());
+        assertEquals(fingerprint, writes.get(0).getString("fingerprint"));
+        assertNull(writes.get(1).getString("fingerprint"));
+    }
+
+    private void write(EmailListResponse response) throws IOException {
+        jsonConverter.write(response, MediaType.APPLICATION_JSON, new MockHttpOutputMessage());
+    }
+
+    private static RecordedEvent single(List<RecordedEvent> events, String name) {
+        var matching = events.stream().filter(event -> event.getEventType().getName().equals(PREFIX + name)).toList();
+        assertEquals(1, matching.size(), "Expected one " + name + " event");
+        return matching.getFirst();
+    }
+
+    private static RecordedEvent single(List<RecordedEvent> events, String name, String fingerprint) {
+        return single(events.stream().filter(event -> is(event, name, fingerprint)).toList(), name);
+    }
+
+    private static boolean is(RecordedEvent event, String name, String fingerprint) {
+        return event.getEventType().getName().equals(PREFIX + name) && fingerprint.equals(event.getString("fingerprint"));
+    }
+}
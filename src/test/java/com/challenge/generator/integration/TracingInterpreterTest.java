@@ -0,0 +1,57 @@
+package com.challenge.generator.integration;
+
+import com.challenge.generator.base.BaseTest;
+import com.challenge.generator.expression.api.controller.ExpressionController;
+import com.challenge.generator.expression.api.dto.EmailListResponse;
+import com.challenge.generator.expression.engine.model.trace.TraceStep;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TracingInterpreter Tests")
+class TracingInterpreterTest extends BaseTest {
+
+    @Test
+    @DisplayName("should record every node evaluation in the order it started")
+    void shouldRecordStepsInOrder() {
+        var trace = expressionEvaluator.trace(
+                expressionEvaluator.compile("split(names, ',') & '@example.com'"), Map.of("names", "ann,bob,cid"));
+
+        assertEquals(List.of("ann@example.com"), trace.results());
+        assertFalse(trace.trace().truncated());
+        List<TraceStep> steps = trace.trace().steps();
+        assertEquals(List.of("&", "split", "names", ",", "@example.com"), steps.stream().map(TraceStep::label).toList());
+        assertEquals(List.of(0, 1, 2, 2, 1), steps.stream().map(TraceStep::depth).toList());
+
+        TraceStep split = steps.get(1);
+        assertEquals("function", split.node());
+        assertEquals(3, split.rows());
+        assertEquals("ann", split.value());
+        assertTrue(steps.getFirst().nanos() >= split.nanos());
+    }
+
+    @Test
+    @DisplayName("should return the trace only when the request asks for it")
+    void shouldReturnTraceOnlyOnRequest() {
+        var uri = buildUri("firstName & '@example.com'", Map.of("firstName", "john"));
+        var headers = new HttpHeaders();
+        headers.set(ExpressionController.TRACE_HEADER, "true");
+
+        EmailListResponse traced = restTemplate.exchange(uri, HttpMethod.GET, new HttpEntity<>(headers),
+                EmailListResponse.class).getBody();
+        EmailListResponse plain = getOk(uri);
+
+        assertNotNull(traced);
+        assertNotNull(traced.trace());
+        assertEquals(3, traced.trace().steps().size());
+        assertEquals(plain.data(), traced.data());
+        assertNull(plain.trace());
+    }
+}
@@ -0,0 +1,88 @@
+package com.challenge.generator.unit;
+
+import com.challenge.generator.base.BaseTest;
+import com.challenge.generator.expression.api.dto.EmailGenerationRequest;
+import com.challenge.generator.expression.engine.core.ExpressionEvaluator;
+import com.challenge.generator.expression.engine.exception.UnknownFunctionException;
+import com.challenge.generator.expression.engine.parser.ast.ParameterNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ExpressionPlanCache Tests")
+class ExpressionPlanCacheTest extends BaseTest {
+
+    private ExpressionEvaluator evaluator;
+
+    @BeforeEach
+    void setUp() {
+        evaluator = new ExpressionEvaluator(grammar, functionRegistry, tokenizer);
+    }
+
+    @Test
+    @DisplayName("should share one plan between expressions that differ only in literals")
+    void shouldShareOnePlanForSameShape() {
+        Map<String, Object> input = Map.of("firstName", "john", "age", "40");
+
+        var senior = evaluator.generateResults(new EmailGenerationRequest("firstName & (age > 30 ? '_senior_tech' : '_tech')", input));
+        var lead = evaluator.generateResults(new EmailGenerationRequest("firstName & (age > 50 ? '_lead' : '_dev')", input));
+
+        assertEquals(List.of("john_senior_tech"), senior);
+        assertEquals(List.of("john_dev"), lead);
+        assertEquals(1, evaluator.planCache().size());
+        assertEquals(1, evaluator.planCache().hitCount());
+    }
+
+    @Test
+    @DisplayName("should lift literals into parameter slots")
+    void shouldLiftLiteralsIntoSlots() {
+        var first = evaluator.planCache().prepare("substring(name, 1, 3) & '@x.com'");
+        var second = evaluator.planCache().prepare("substring(name, 2, 5) & '@y.com'");
+
+        assertSame(first.plan(), second.plan());
+        assertTrue(first.plan().parameterized());
+        assertEquals(3, second.parameters().size());
+        assertEquals("'@y.com'", second.parameters().get(2).value());
+    }
+
+    @Test
+    @DisplayName("should key map literal expressions by their exact text")
+    void shouldNotParameterizeMapLiterals() {
+        var first = evaluator.planCache().prepare("equals(m, a: 'x')");
+        var second = evaluator.planCache().prepare("equals(m, a: 'y')");
+
+        assertFalse(first.plan().parameterized());
+        assertNotSame(first.plan(), second.plan());
+        assertTrue(second.parameters().isEmpty());
+        assertFalse(second.root().toString().contains(ParameterNode.class.getSimpleName()));
+    }
+
+    @Test
+    @DisplayName("should not cache plans that call unknown functions")
+    void shouldNotCacheUnknownFunctions() {
+        var request = new EmailGenerationRequest("unknown('x')", Map.of("a", "b"));
+
+        assertThrows(UnknownFunctionException.class, () -> evaluator.generateResults(request));
+        assertEquals(0, evaluator.planCache().size());
+    }
+
+    @Test
+    @DisplayName("should evict the least recently used plan when full")
+    void shouldEvictLeastRecentlyUsedPlan() {
+        var cache = new ExpressionEvaluator(grammar, functionRegistry, tokenizer, 2).planCache();
+        var hot = cache.prepare("firstName & '@x.com'").plan();
+        var cold = cache.prepare("substring(firstName, 1, 2)").plan();
+
+        assertSame(hot, cache.prepare("firstName & '@y.com'").plan());
+        cache.prepare("split(firstName, ',')");
+
+        assertEquals(2, cache.size());
+        assertTrue(cache.snapshot().contains(hot));
+        assertFalse(cache.snapshot().contains(cold));
+    }
+}
@@ -0,0 +1,105 @@
+package com.challenge.generator.unit;
+
+import com.challenge.generator.expression.engine.model.DataType;
+import com.challenge.generator.expression.engine.parser.ast.BinaryOpNode;
+import com.challenge.generator.expression.engine.parser.ast.ConditionalNode;
+import com.challenge.generator.expression.engine.parser.ast.FunctionCall;
+import com.challenge.generator.expression.engine.parser.ast.IdentifierNode;
+import com.challenge.generator.expression.engine.parser.ast.LiteralNode;
+import com.challenge.generator.expression.engine.parser.ast.MapLiteralNode;
+import com.challenge.generator.expression.engine.parser.ast.ParameterNode;
+import com.challenge.generator.expression.engine.plan.CompiledPlan;
+import com.challenge.generator.expression.engine.plan.PlanSnapshotCodec;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("PlanSnapshotCodec Tests")
+class PlanSnapshotCodecTest {
+
+    @Test
+    @DisplayName("should round-trip every node type")
+    void shouldRoundTripPlans() throws IOException {
+        var parameterized = new CompiledPlan("firstName & ( age > $ ? $ : $ )", new BinaryOpNode("&",
+                new IdentifierNode("firstName", 0),
+                new ConditionalNode(
+                        new BinaryOpNode(">", new IdentifierNode("age", 14), new ParameterNode(0, 20), 18),
+                        new ParameterNode(1, 25),
+                        new ParameterNode(2, 41)),
+                10), true);
+        var exact = new CompiledPlan("equals ( m , a : $ )\u0000'x'", new FunctionCall("equals", 0, List.of(
+                new IdentifierNode("m", 7),
+                new MapLiteralNode(Map.of("a", "x"), 10),
+                new LiteralNode(new BigDecimal("1.5"), DataType.DECIMAL, 18))), false);
+
+        var bytes = new ByteArrayOutputStream();
+        PlanSnapshotCodec.encode(List.of(parameterized, exact), new DataOutputStream(bytes));
+
+        assertEquals(List.of(parameterized, exact), PlanSnapshotCodec.decode(ByteBuffer.wrap(bytes.toByteArray())));
+    }
+
+    @Test
+    @DisplayName("should preserve the type of every literal kind")
+    void shouldRoundTripEveryLiteralKind() throws IOException {
+        var literals = List.<LiteralNode>of(
+                new LiteralNode("john", DataType.STRING, 0),
+                new LiteralNode("", DataType.STRING, 1),
+                new LiteralNode(new BigDecimal("42"), DataType.INTEGER, 2),
+                new LiteralNode(new BigDecimal("1.50"), DataType.DECIMAL, 3),
+                new LiteralNode("2024-01-31T10:15:30Z", DataType.DATETIME, 4),
+                new LiteralNode(null, DataType.UNKNOWN, 5));
+        var plans = literals.stream()
+                .map(literal -> new CompiledPlan("literal " + literal.position(), literal, false))
+                .toList();
+
+        var bytes = new ByteArrayOutputStream();
+        PlanSnapshotCodec.encode(plans, new DataOutputStream(bytes));
+        var decoded = PlanSnapshotCodec.decode(ByteBuffer.wrap(bytes.toByteArray()));
+
+        assertEquals(plans, decoded);
+        for (int i = 0; i < literals.size(); i++) {
+            var expected = literals.get(i).value();
+            var actual = ((LiteralNode) decoded.get(i).root()).value();
+            assertEquals(expected == null ? null : expected.getClass(), actual == null ? null : actual.getClass());
+        }
+    }
+
+    @Test
+    @DisplayName("should reject snapshots whose lengths exceed the data")
+    void shouldRejectCorruptLengths() throws IOException {
+        var bytes = new ByteArrayOutputStream();
+        PlanSnapshotCodec.encode(List.of(new CompiledPlan("a", new IdentifierNode("a", 0), false)),
+                new DataOutputStream(bytes));
+        var encoded = bytes.toByteArray();
+
+        var truncated = Arrays.copyOf(encoded, encoded.length - 3);
+        var huge = encoded.clone();
+        // The first plan's key length follows the magic, version and plan count.
+        ByteBuffer.wrap(huge).putInt(Integer.BYTES * 3, Integer.MAX_VALUE);
+        var negative = encoded.clone();
+        ByteBuffer.wrap(negative).putInt(Integer.BYTES * 3, -1);
+
+        for (byte[] corrupt : List.of(huge, negative)) {
+            assertThrows(IllegalStateException.class, () -> PlanSnapshotCodec.decode(ByteBuffer.wrap(corrupt)));
+        }
+        assertThrows(RuntimeException.class, () -> PlanSnapshotCodec.decode(ByteBuffer.wrap(truncated)));
+    }
+
+    @Test
+    @DisplayName("should ignore buffers that are not plan snapshots")
+    void shouldIgnoreForeignData() {
+        assertTrue(PlanSnapshotCodec.decode(ByteBuffer.wrap(new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12})).isEmpty());
+    }
+}
@@ -0,0 +1,60 @@
+package com.challenge.generator.unit.expression;
+
+import com.challenge.generator.base.BaseTest;
+import com.challenge.generator.expression.api.dto.EmailGenerationRequest;
+import com.challenge.generator.expression.engine.core.FunctionRegistry;
+import com.challenge.generator.expression.engine.function.provider.SplitProvider;
+import com.challenge.generator.fuzz.GeneratorSettings;
+import com.challenge.generator.fuzz.RandomExpressionGenerator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("RandomExpressionGenerator Tests")
+class RandomExpressionGeneratorTest extends BaseTest {
+
+    @ParameterizedTest(name = "[{index}] depth={0}, fanOut={1}, listSize={2}")
+    @MethodSource("settings")
+    void generatedExpressionsShouldEvaluate(int depth, int fanOut, int listSize) {
+        var generator = new RandomExpressionGenerator(grammar, functionRegistry, new GeneratorSettings(depth, fanOut, listSize), 42);
+
+        for (EmailGenerationRequest request : generator.generate(300)) {
+            assertDoesNotThrow(() -> expressionEvaluator.generateResults(request), request::toString);
+        }
+    }
+
+    static Stream<Arguments> settings() {
+        return Stream.of(
+                Arguments.of(0, 2, 1),
+                Arguments.of(4, 3, 10),
+                Arguments.of(8, 4, 8)
+        );
+    }
+
+    @Test
+    @DisplayName("should generate the same expressions for the same seed")
+    void shouldBeDeterministicPerSeed() {
+        List<EmailGenerationRequest> first = new RandomExpressionGenerator(grammar, functionRegistry, GeneratorSettings.defaults(), 7).generate(50);
+        List<EmailGenerationRequest> second = new RandomExpressionGenerator(grammar, functionRegistry, GeneratorSettings.defaults(), 7).generate(50);
+
+        assertEquals(first, second);
+    }
+
+    @Test
+    @DisplayName("should only call functions that are registered")
+    void shouldOnlyUseRegisteredFunctions() {
+        var registry = FunctionRegistry.fromProviders(List.of(new SplitProvider()));
+        var generator = new RandomExpressionGenerator(grammar, registry, GeneratorSettings.defaults(), 42);
+
+        for (EmailGenerationRequest request : generator.generate(200)) {
+            assertFalse(request.expression().matches(".*\\b(zip|cross_join|substring|date|equals)\\(.*"), request.expression());
+        }
+    }
+}
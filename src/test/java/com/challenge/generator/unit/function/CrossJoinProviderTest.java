@@ -1,11 +1,14 @@
 package com.challenge.generator.unit.function;
 
+import com.challenge.generator.expression.engine.exception.ResultTooLargeException;
 import com.challenge.generator.expression.engine.function.provider.CrossJoinProvider;
+import com.challenge.generator.expression.engine.model.CancellationToken;
 import com.challenge.generator.expression.engine.model.EvaluationContext;
 import com.challenge.generator.expression.engine.model.result.ExecutableExpressionNode;
 import com.challenge.generator.expression.engine.model.result.MultiValue;
 import com.challenge.generator.expression.engine.model.result.StringValue;
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -17,6 +20,7 @@ import java.util.Map;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @DisplayName("CrossJoinProvider Tests")
 class CrossJoinProviderTest {
@@ -37,6 +41,26 @@ class CrossJoinProviderTest {
         assertEquals(expected, function.evaluate(emptyContext).asList());
     }
 
+    @Test
+    @DisplayName("should build rows only when they are read in a streaming evaluation")
+    void shouldBuildRowsLazilyWhenStreaming() {
+        var streaming = EvaluationContext.streaming(Map.of(), List.of(), CancellationToken.NONE);
+        var rows = provider.create(List.of(multi(Collections.nCopies(40_000, "a")), multi(Collections.nCopies(40_000, "b"))))
+                .evaluate(streaming).asList();
+
+        assertEquals(1_600_000_000, rows.size());
+        assertEquals("ab", rows.getLast());
+    }
+
+    @Test
+    @DisplayName("should reject a product that does not fit in a list")
+    void shouldRejectOversizedProduct() {
+        var huge = multi(Collections.nCopies(65_536, "a"));
+        ExecutableExpressionNode function = provider.create(List.of(huge, huge, huge));
+
+        assertThrows(ResultTooLargeException.class, () -> function.evaluate(emptyContext));
+    }
+
     static Stream<Arguments> crossJoinScenarios() {
         return Stream.of(
                 new TestCase(
@@ -0,0 +1,153 @@
+package com.challenge.generator.unit.runtime;
+
+import com.challenge.generator.base.BaseTest;
+import com.challenge.generator.expression.api.dto.EmailGenerationRequest;
+import com.challenge.generator.expression.engine.core.ExpressionEvaluator;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Guards the bytes allocated per evaluation of a fixed set of representative expressions against
+ * the checked-in budgets in {@code allocation-budgets.properties}. Each evaluation compiles the
+ * expression through the plan cache, executes it and reads every result, since list results are
+ * built as they are read. It goes through the uninstrumented evaluator and bypasses request logging,
+ * so the numbers cover the engine alone and do not depend on the log level or on metrics listeners.
+ * <p>
+ * Any change to the evaluation path that moves these numbers has to regenerate the file in the same commit.
+ * <p>
+ * Run {@code ./gradlew updateAllocationBudgets} to re-measure and rewrite the budget file on purpose.
+ */
+@DisplayName("Allocation Budget Tests")
+class AllocationBudgetTest extends BaseTest {
+
+    private static final String BUDGET_RESOURCE = "/allocation-budgets.properties";
+    private static final String UPDATE_PROPERTY = "allocation.budgets.update";
+    private static final int WARMUP_ITERATIONS = 2_000;
+    private static final int MEASURED_ITERATIONS = 200;
+    private static final int ROUNDS = 5;
+    private static final double HEADROOM = 1.25;
+
+    private static final Map<String, Long> measured = new ConcurrentHashMap<>();
+
+    private long sink;
+
+    @ParameterizedTest(name = "[{index}] {0}")
+    @MethodSource("workloads")
+    void shouldStayWithinAllocationBudget(String name, EmailGenerationRequest request) throws IOException {
+        var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isCurrentThreadAllocatedMemorySupported(), "Thread allocation accounting is not supported");
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        long bytes = bytesPerEvaluation(threads, request);
+        measured.put(name, bytes);
+        if (System.getProperty(UPDATE_PROPERTY) != null) {
+            return;
+        }
+
+        String budget = budgets().getProperty(name);
+        assertNotNull(budget, "No allocation budget for '" + name + "'; run ./gradlew updateAllocationBudgets");
+        assertTrue(bytes <= Long.parseLong(budget),
+                "'%s' allocated %d bytes per evaluation, budget is %s".formatted(name, bytes, budget));
+    }
+
+    static Stream<Arguments> workloads() {
+        return Stream.of(
+                Arguments.of("concatenation", new EmailGenerationRequest(
+                        "firstName & '.' & lastName & '@example.com'",
+                        Map.of("firstName", "john", "lastName", "smith"))),
+                Arguments.of("ternary", new EmailGenerationRequest(
+                        "firstName & (age < '30' ? '.young' : '.mature') & '@' & domain",
+                        Map.of("firstName", "john", "age", "25", "domain", "example.com"))),
+                Arguments.of("split", new EmailGenerationRequest(
+                        "split(names, ',') & '@example.com'",
+                        Map.of("names", list("user", 50)))),
+                Arguments.of("substring", new EmailGenerationRequest(
+                        "substring(firstName, 1, 1) & lastName & '@example.com'",
+                        Map.of("firstName", "john", "lastName", "smith"))),
+                Arguments.of("zip", new EmailGenerationRequest(
+                        "zip(split(first, ','), '.', split(last, ','), '@example.com')",
+                        Map.of("first", list("f", 50), "last", list("l", 50)))),
+                Arguments.of("crossJoin", new EmailGenerationRequest(
+                        "cross_join(split(a, ','), split(b, ','), split(c, ','))",
+                        Map.of("a", list("a", 10), "b", list("b", 10), "c", list("c", 10))))
+        );
+    }
+
+    @AfterAll
+    static void writeBudgetsWhenUpdating() throws IOException {
+        String target = System.getProperty(UPDATE_PROPERTY);
+        if (target == null || measured.isEmpty()) {
+            return;
+        }
+        try (Writer out = Files.newBufferedWriter(Path.of(target), StandardCharsets.UTF_8)) {
+            out.write("# Bytes allocated per evaluation, checked by AllocationBudgetTest.\n");
+            out.write("# Regenerate on purpose with ./gradlew updateAllocationBudgets.\n");
+            for (var entry : new TreeMap<>(measured).entrySet()) {
+                out.write(entry.getKey() + "=" + (long) Math.ceil(entry.getValue() * HEADROOM) + "\n");
+            }
+        }
+    }
+
+    /**
+     * Warms the path up, then takes the best of several rounds so that one-off allocations
+     * (class loading, JIT, TLAB refills) do not count against the budget.
+     */
+    private long bytesPerEvaluation(com.sun.management.ThreadMXBean threads, EmailGenerationRequest request) {
+        var evaluator = expressionEvaluator.uninstrumented();
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            sink += evaluate(evaluator, request);
+        }
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long before = threads.getCurrentThreadAllocatedBytes();
+            for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+                sink += evaluate(evaluator, request);
+            }
+            long after = threads.getCurrentThreadAllocatedBytes();
+            best = Math.min(best, (after - before) / MEASURED_ITERATIONS);
+        }
+        return best;
+    }
+
+    private static long evaluate(ExpressionEvaluator evaluator, EmailGenerationRequest request) {
+        long characters = 0;
+        for (String result : evaluator.execute(evaluator.compile(request.expression()), request.input())) {
+            characters += result.length();
+        }
+        return characters;
+    }
+
+    private static Properties budgets() throws IOException {
+        var properties = new Properties();
+        try (InputStream in = AllocationBudgetTest.class.getResourceAsStream(BUDGET_RESOURCE)) {
+            assertNotNull(in, "Missing " + BUDGET_RESOURCE);
+            properties.load(in);
+        }
+        return properties;
+    }
+
+    private static String list(String prefix, int size) {
+        return IntStream.range(0, size).mapToObj(i -> prefix + i).collect(Collectors.joining(","));
+    }
+}
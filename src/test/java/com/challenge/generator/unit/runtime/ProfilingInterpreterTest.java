@@ -0,0 +1,65 @@
+package com.challenge.generator.unit.runtime;
+
+import com.challenge.generator.base.BaseTest;
+import com.challenge.generator.expression.engine.model.profile.ProfileNode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ProfilingInterpreter Tests")
+class ProfilingInterpreterTest extends BaseTest {
+
+    @Test
+    @DisplayName("should return the same results as the regular interpreter")
+    void shouldMatchRegularResults() {
+        String expression = "zip(split(first, ','), '.', split(last, ','), '@example.com')";
+        Map<String, Object> input = Map.of("first", "ann,bob", "last", "lee,ray");
+
+        var profile = expressionEvaluator.profile(expressionEvaluator.compile(expression), input);
+
+        assertEquals(List.of("ann.lee@example.com", "bob.ray@example.com"), profile.results());
+        assertEquals(expressionEvaluator.execute(expressionEvaluator.compile(expression), input), profile.results());
+    }
+
+    @Test
+    @DisplayName("should annotate every node with invocations, rows and timings")
+    void shouldAnnotateNodes() {
+        var profile = expressionEvaluator.profile(
+                expressionEvaluator.compile("split(names, ',') & '@example.com'"), Map.of("names", "ann,bob,cid"));
+
+        ProfileNode root = profile.root();
+        assertEquals("binary", root.node());
+        assertEquals("&", root.label());
+        assertEquals(1, root.invocations());
+        assertEquals(2, root.children().size());
+
+        ProfileNode split = root.children().getFirst();
+        assertEquals("function", split.node());
+        assertEquals("split", split.label());
+        assertEquals(1, split.invocations());
+        assertEquals(3, split.rows());
+        assertTrue(split.wallNanos() > 0);
+        assertTrue(root.wallNanos() >= split.wallNanos());
+        assertTrue(root.selfNanos() <= root.wallNanos());
+        assertEquals("names", split.children().getFirst().label());
+        assertEquals(",", split.children().get(1).label());
+    }
+
+    @Test
+    @DisplayName("should report the branch that was not taken as never executed")
+    void shouldReportUntakenBranch() {
+        var profile = expressionEvaluator.profile(
+                expressionEvaluator.compile("age > 30 ? 'senior' : 'junior'"), Map.of("age", "40"));
+
+        ProfileNode conditional = profile.root();
+        assertEquals(List.of("senior"), profile.results());
+        assertEquals("conditional", conditional.node());
+        assertEquals(1, conditional.children().get(1).invocations());
+        assertEquals(0, conditional.children().get(2).invocations());
+        assertEquals(0, conditional.children().get(2).wallNanos());
+    }
+}
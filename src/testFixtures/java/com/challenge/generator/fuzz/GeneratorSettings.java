@@ -0,0 +1,21 @@
+package com.challenge.generator.fuzz;
+
+/**
+ * Shape limits for {@link RandomExpressionGenerator}.
+ *
+ * @param maxDepth    maximum nesting of operators, function calls and conditionals
+ * @param maxFanOut   maximum number of arguments to variadic functions and terms in a concatenation
+ * @param maxListSize maximum number of elements in a generated list input
+ */
+public record GeneratorSettings(int maxDepth, int maxFanOut, int maxListSize) {
+
+    public GeneratorSettings {
+        if (maxDepth < 0 || maxFanOut < 2 || maxListSize < 1) {
+            throw new IllegalArgumentException("maxDepth must be >= 0, maxFanOut >= 2 and maxListSize >= 1");
+        }
+    }
+
+    public static GeneratorSettings defaults() {
+        return new GeneratorSettings(4, 3, 10);
+    }
+}
@@ -0,0 +1,227 @@
+package com.challenge.generator.fuzz;
+
+import com.challenge.generator.expression.api.dto.EmailGenerationRequest;
+import com.challenge.generator.expression.engine.core.FunctionRegistry;
+import com.challenge.generator.expression.engine.function.FunctionName;
+import com.challenge.generator.expression.engine.parser.Precedence;
+import com.challenge.generator.expression.engine.parser.grammar.Grammar;
+import com.challenge.generator.expression.engine.parser.token.TokenType;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * Produces random, valid expressions together with matching inputs. The operators it uses are
+ * discovered by walking the rules registered in the {@link Grammar} (classified by token type and
+ * precedence) and the functions by walking the {@link FunctionRegistry}, so constructs that are not
+ * registered are never emitted. Registered functions without a known signature are skipped.
+ * <p>
+ * Expressions are built per result kind (string, list, number, condition) so every generated
+ * expression evaluates without errors. Inputs are always strings, as they arrive over HTTP.
+ * Generation is deterministic for a given seed.
+ */
+public class RandomExpressionGenerator {
+
+    private static final String LETTERS = "abcdefghijklmnopqrstuvwxyz";
+    private static final String DATE_FORMAT = "yyyy-MM-dd";
+
+    private final GeneratorSettings settings;
+    private final Random random;
+    private final Set<TokenType> tokens;
+    private final Set<FunctionName> functions = EnumSet.noneOf(FunctionName.class);
+    private final List<String> arithmeticOperators = new ArrayList<>();
+    private final List<String> comparisonOperators = new ArrayList<>();
+    private final boolean concatenation;
+    private final boolean conditional;
+
+    private Map<String, Object> inputs;
+
+    public RandomExpressionGenerator(Grammar grammar, FunctionRegistry registry, GeneratorSettings settings, long seed) {
+        this.settings = settings;
+        this.random = new Random(seed);
+        this.tokens = EnumSet.copyOf(grammar.getRegisteredTokenTypes());
+
+        for (TokenType type : tokens) {
+            int precedence = grammar.getParser(type).getPrecedence();
+            if (type == TokenType.AMPERSAND) {
+                continue;
+            }
+            if (precedence == Precedence.COMPARISON.ordinal()) {
+                comparisonOperators.add(symbol(type));
+            } else if (precedence == Precedence.SUM.ordinal() || precedence == Precedence.PRODUCT.ordinal()) {
+                arithmeticOperators.add(symbol(type));
+            }
+        }
+        this.concatenation = tokens.contains(TokenType.AMPERSAND);
+        this.conditional = tokens.contains(TokenType.QUESTION_MARK) && !comparisonOperators.isEmpty();
+
+        if (tokens.contains(TokenType.LEFT_PAREN) && tokens.contains(TokenType.IDENTIFIER)) {
+            for (FunctionName function : FunctionName.values()) {
+                if (registry.get(function.getName()).isPresent()) {
+                    functions.add(function);
+                }
+            }
+        }
+        if (!tokens.contains(TokenType.IDENTIFIER) || !tokens.contains(TokenType.STRING_LITERAL)) {
+            throw new IllegalArgumentException("Grammar must at least support identifiers and string literals");
+        }
+    }
+
+    public List<EmailGenerationRequest> generate(int count) {
+        return IntStream.range(0, count).mapToObj(i -> next()).toList();
+    }
+
+    public EmailGenerationRequest next() {
+        inputs = new LinkedHashMap<>();
+        var expression = random.nextBoolean() && functions.contains(FunctionName.SPLIT) ? list(0) : string(0);
+        return new EmailGenerationRequest(expression, inputs);
+    }
+
+    private String string(int depth) {
+        var options = new ArrayList<Supplier<String>>();
+        options.add(this::stringLeaf);
+        if (depth < settings.maxDepth()) {
+            if (concatenation) {
+                options.add(() -> concatenation(depth));
+            }
+            if (conditional) {
+                // An identifier directly before ':' parses as a map literal, so the then-branch is parenthesized.
+                options.add(() -> "(" + condition(depth + 1) + " ? (" + string(depth + 1) + ") : " + string(depth + 1) + ")");
+            }
+            if (functions.contains(FunctionName.SUBSTRING_OF) && tokens.contains(TokenType.INTEGER_LITERAL)) {
+                options.add(() -> "substring(" + string(depth + 1) + ", " + between(1, 3) + ", " + between(3, 8) + ")");
+            }
+            if (functions.contains(FunctionName.DATE)) {
+                options.add(() -> "date('" + DATE_FORMAT + "', " + input("d", "20" + between(10, 29) + "-0" + between(1, 9) + "-1" + between(0, 9)) + ")");
+            }
+            if (concatenation && !arithmeticOperators.isEmpty()) {
+                options.add(() -> "(" + stringLeaf() + " & (" + number(depth + 1) + "))");
+            }
+        }
+        return pick(options, depth);
+    }
+
+    private String concatenation(int depth) {
+        var terms = new StringJoiner(" & ", "(", ")");
+        for (int i = 0, n = between(2, settings.maxFanOut()); i < n; i++) {
+            terms.add(string(depth + 1));
+        }
+        return terms.toString();
+    }
+
+    private String list(int depth) {
+        var options = new ArrayList<Supplier<String>>();
+        options.add(this::listLeaf);
+        if (depth < settings.maxDepth()) {
+            if (functions.contains(FunctionName.ZIP)) {
+                options.add(() -> variadic("zip", depth, true));
+            }
+            if (functions.contains(FunctionName.CROSS_JOIN)) {
+                options.add(() -> variadic("cross_join", depth, false));
+            }
+        }
+        return pick(options, depth);
+    }
+
+    /**
+     * zip may nest further lists; cross_join only takes leaves so the result count stays bounded by
+     * maxListSize to the power of maxFanOut.
+     */
+    private String variadic(String function, int depth, boolean nested) {
+        var arguments = new StringJoiner(", ", function + "(", ")");
+        arguments.add(nested ? list(depth + 1) : listLeaf());
+        for (int i = 1, n = between(2, settings.maxFanOut()); i < n; i++) {
+            if (random.nextBoolean()) {
+                arguments.add(nested ? list(depth + 1) : listLeaf());
+            } else {
+                arguments.add(nested ? string(depth + 1) : stringLeaf());
+            }
+        }
+        return arguments.toString();
+    }
+
+    private String number(int depth) {
+        var options = new ArrayList<Supplier<String>>();
+        options.add(this::numberLeaf);
+        if (depth < settings.maxDepth() && !arithmeticOperators.isEmpty()) {
+            options.add(() -> {
+                var operator = arithmeticOperators.get(random.nextInt(arithmeticOperators.size()));
+                // Keep divisors literal and non-zero so generated expressions never divide by zero.
+                var right = "/".equals(operator) && tokens.contains(TokenType.INTEGER_LITERAL)
+                        ? String.valueOf(between(1, 9))
+                        : "/".equals(operator) ? numberLeaf() : number(depth + 1);
+                return "(" + number(depth + 1) + " " + operator + " " + right + ")";
+            });
+        }
+        return pick(options, depth);
+    }
+
+    private String condition(int depth) {
+        var options = new ArrayList<Supplier<String>>();
+        options.add(() -> number(depth + 1) + " " + comparisonOperators.get(random.nextInt(comparisonOperators.size())) + " " + number(depth + 1));
+        if (functions.contains(FunctionName.EQUALS)) {
+            options.add(() -> "equals(" + string(depth + 1) + ", " + stringLeaf() + ")");
+        }
+        return options.get(random.nextInt(options.size())).get();
+    }
+
+    private String stringLeaf() {
+        return random.nextBoolean() ? "'" + word() + "'" : input("s", word());
+    }
+
+    private String listLeaf() {
+        var values = new StringJoiner(",");
+        for (int i = 0, n = between(1, settings.maxListSize()); i < n; i++) {
+            values.add(word());
+        }
+        return "split(" + input("l", values.toString()) + ", ',')";
+    }
+
+    private String numberLeaf() {
+        return switch (random.nextInt(3)) {
+            case 0 -> tokens.contains(TokenType.INTEGER_LITERAL) ? String.valueOf(between(1, 99)) : input("n", String.valueOf(between(1, 99)));
+            case 1 -> tokens.contains(TokenType.DECIMAL_LITERAL) ? between(1, 99) + "." + between(1, 9) : input("n", String.valueOf(between(1, 99)));
+            default -> input("n", String.valueOf(between(1, 999)));
+        };
+    }
+
+    private String input(String prefix, String value) {
+        var name = prefix + inputs.size();
+        inputs.put(name, value);
+        return name;
+    }
+
+    /**
+     * Leans towards leaves as depth grows, so expressions rarely hit the depth limit all at once.
+     */
+    private String pick(List<Supplier<String>> options, int depth) {
+        if (options.size() == 1 || random.nextInt(settings.maxDepth() + 1) < depth) {
+            return options.getFirst().get();
+        }
+        return options.get(1 + random.nextInt(options.size() - 1)).get();
+    }
+
+    private String word() {
+        var word = new StringBuilder();
+        for (int i = 0, n = between(3, 8); i < n; i++) {
+            word.append(LETTERS.charAt(random.nextInt(LETTERS.length())));
+        }
+        return word.toString();
+    }
+
+    private int between(int min, int max) {
+        return min + random.nextInt(max - min + 1);
+    }
+
+    private static String symbol(TokenType type) {
+        return type.getRegex().substring(1).replace("\\", "");
+    }
+}